@@ -0,0 +1,33 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enm.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Benchmark
+    public List<BookingDto> getBookingsByOwner(ShareItState state) {
+        return state.bookingService.getBookingsByOwner(state.ownerId, Optional.empty());
+    }
+
+    @Benchmark
+    public List<BookingDto> getBookingsByOwnerCurrent(ShareItState state) {
+        return state.bookingService.getBookingsByOwner(state.ownerId, Optional.of(BookingState.CURRENT));
+    }
+
+    @Benchmark
+    public CursorPage<BookingDto> getBookingsByOwnerFirstPage(ShareItState state) {
+        return state.bookingService.getBookingsByOwner(state.ownerId, Optional.empty(), null, 20);
+    }
+}
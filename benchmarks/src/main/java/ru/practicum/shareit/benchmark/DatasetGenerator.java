@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class DatasetGenerator {
+    static final String[] TOOLS = {"drill", "saw", "hammer", "ladder", "sander"};
+    private static final int MAX_BOOKERS = 50;
+
+    private final JdbcTemplate jdbc;
+
+    public DatasetGenerator(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public long generate(int items, int bookingsPerItem, int commentsPerItem) {
+        jdbc.update("insert into users (name, email) values (?, ?)", "owner", "owner@shareit.bench");
+        long ownerId = jdbc.queryForObject("select id from users where email = ?", Long.class, "owner@shareit.bench");
+
+        int bookers = Math.max(1, Math.min(items, MAX_BOOKERS));
+        jdbc.batchUpdate("insert into users (name, email) values (?, ?)", IntStream.range(0, bookers)
+                .mapToObj(i -> new Object[]{"booker" + i, "booker" + i + "@shareit.bench"})
+                .toList());
+        List<Long> bookerIds = jdbc.queryForList("select id from users where id <> ? order by id", Long.class, ownerId);
+
+        jdbc.batchUpdate("insert into items (name, description, owner_id, is_available) values (?, ?, ?, ?)",
+                IntStream.range(0, items)
+                        .mapToObj(i -> new Object[]{TOOLS[i % TOOLS.length] + " " + i,
+                                "cordless " + TOOLS[i % TOOLS.length] + " model " + i, ownerId, true})
+                        .toList());
+        List<Long> itemIds = jdbc.queryForList("select id from items where owner_id = ? order by id", Long.class, ownerId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            Long itemId = itemIds.get(i);
+            for (int b = 0; b < bookingsPerItem; b++) {
+                LocalDateTime start = now.plusDays(2L * (b - bookingsPerItem / 2)).minusHours(1);
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), itemId,
+                        bookerIds.get((i + b) % bookerIds.size()), "APPROVED"});
+            }
+            for (int c = 0; c < commentsPerItem; c++) {
+                comments.add(new Object[]{"comment " + c, itemId, bookerIds.get((i + c) % bookerIds.size()),
+                        Timestamp.valueOf(now.minusDays(c))});
+            }
+        }
+        jdbc.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?)",
+                bookings);
+        jdbc.batchUpdate("insert into comments (text, item_id, author_id, created) values (?, ?, ?, ?)", comments);
+        return ownerId;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.dto.ItemAllDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Benchmark
+    public List<ItemAllDto> getItems(ShareItState state) {
+        return state.itemService.getItems(state.ownerId);
+    }
+
+    @Benchmark
+    public List<ItemDto> findItems(ShareItState state) {
+        return state.itemService.findItems("drill");
+    }
+
+    @Benchmark
+    public List<ItemDto> findItemsPrefix(ShareItState state) {
+        return state.itemService.findItems("cordl", 0, 20);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enm.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User owner = new User(1L, "owner@shareit.bench", "owner");
+        LocalDateTime now = LocalDateTime.now();
+        items = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String tool = DatasetGenerator.TOOLS[i % DatasetGenerator.TOOLS.length];
+            Item item = new Item((long) i, tool + " " + i, "cordless " + tool, true, owner, null, null);
+            User booker = new User((long) i + 2, "booker" + i + "@shareit.bench", "booker" + i);
+            items.add(item);
+            bookings.add(new Booking((long) i, now.plusDays(i), now.plusDays(i + 1), item, booker, BookingStatus.APPROVED, null));
+        }
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDto() {
+        return bookings.stream().map(BookingMapper::toBookingDto).toList();
+    }
+
+    @Benchmark
+    public List<ItemDto> toItemDto() {
+        return items.stream().map(ItemMapper::toItemDto).toList();
+    }
+}
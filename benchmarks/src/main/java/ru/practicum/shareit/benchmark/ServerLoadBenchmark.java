@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class ServerLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"default", "virtual-threads"})
+        public String profile;
+
+        @Param({"1000"})
+        public int items;
+
+        ConfigurableApplicationContext context;
+        HttpClient client;
+        String baseUrl;
+        String ownerId;
+        List<Long> itemIds;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = ShareItState.start(WebApplicationType.SERVLET, "--server.port=0",
+                    "--spring.profiles.active=" + profile);
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            ownerId = String.valueOf(new DatasetGenerator(jdbc).generate(items, 3, 2));
+            itemIds = jdbc.queryForList("select id from items order by id", Long.class);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            client.close();
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int getItem(Server server) throws IOException, InterruptedException {
+        Long itemId = server.itemIds.get(ThreadLocalRandom.current().nextInt(server.itemIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.baseUrl + "/items/" + itemId))
+                .header("X-Sharer-User-Id", server.ownerId)
+                .GET()
+                .build();
+        return server.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int getOwnerBookings(Server server) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.baseUrl + "/bookings/owner?state=FUTURE&size=20"))
+                .header("X-Sharer-User-Id", server.ownerId)
+                .GET()
+                .build();
+        return server.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
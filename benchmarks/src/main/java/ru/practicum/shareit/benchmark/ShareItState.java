@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+    @Param({"100", "1000"})
+    public int items;
+
+    @Param({"3"})
+    public int bookingsPerItem;
+
+    @Param({"2"})
+    public int commentsPerItem;
+
+    ConfigurableApplicationContext context;
+    ItemService itemService;
+    BookingService bookingService;
+    long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = start(WebApplicationType.NONE);
+        ownerId = new DatasetGenerator(context.getBean(JdbcTemplate.class)).generate(items, bookingsPerItem, commentsPerItem);
+        context.getBeanProvider(InvertedIndexItemSearch.class).ifAvailable(InvertedIndexItemSearch::rebuild);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType type, String... args) {
+        List<String> arguments = new ArrayList<>(List.of("--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=shareit",
+                "--spring.datasource.password=shareit",
+                "--spring.sql.init.platform=h2",
+                "--logging.level.root=WARN"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(type)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -1,17 +1,21 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
 import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.AdaptiveConcurrencyLimiter;
 import ru.practicum.shareit.client.BaseClient;
 
 @Service
@@ -19,20 +23,23 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory, MeterRegistry meterRegistry,
+            AdaptiveConcurrencyLimiter concurrencyLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                meterRegistry,
+                concurrencyLimiter
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, @Nullable String cursor, @Nullable Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        return get(withPaging("?state={state}", parameters, cursor, size), userId, parameters);
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
@@ -50,10 +57,9 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("/owner", userId, parameters);
+    public ResponseEntity<Object> getBookingsByOwner(Long userId, BookingState state, @Nullable String cursor, @Nullable Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        return get(withPaging("/owner?state={state}", parameters, cursor, size), userId, parameters);
     }
 }
@@ -6,6 +6,8 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
@@ -21,10 +23,12 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) @Positive @Max(100) Integer size) {
         BookingState state = BookingState.from(stateParam).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Getting bookings with state: {}", state);
-        return bookingClient.getBookings(userId, state);
+        log.info("Getting bookings with state: {}, cursor: {}, size: {}", state, cursor, size);
+        return bookingClient.getBookings(userId, state, cursor, size);
     }
 
     @PostMapping
@@ -48,9 +52,11 @@ public class BookingController {
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+                                                     @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) @Positive @Max(100) Integer size) {
         BookingState state = BookingState.from(stateParam).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Getting bookings by owner {} with state: {}", state, userId);
-        return bookingClient.getBookingsByOwner(userId, state);
+        log.info("Getting bookings by owner {} with state: {}, cursor: {}, size: {}", userId, state, cursor, size);
+        return bookingClient.getBookingsByOwner(userId, state, cursor, size);
     }
 }
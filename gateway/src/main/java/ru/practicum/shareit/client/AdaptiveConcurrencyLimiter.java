@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter readShed;
+    private final Counter writeShed;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = new AtomicInteger(properties.getInitialLimit());
+        readShed = shedCounter(meterRegistry, "read");
+        writeShed = shedCounter(meterRegistry, "write");
+        Gauge.builder("gateway.concurrency.limit", limit, AtomicInteger::get)
+                .description("Current adaptive limit of concurrent upstream calls")
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Upstream calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<byte[]> execute(boolean write, Supplier<ResponseEntity<byte[]>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        int started = acquire(write);
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            ResponseEntity<byte[]> response = call.get();
+            dropped = isOverloaded(response) || System.nanoTime() - start > properties.getLatencyThreshold().toNanos();
+            return response;
+        } finally {
+            inFlight.decrementAndGet();
+            update(dropped, started);
+        }
+    }
+
+    private int acquire(boolean write) {
+        int current = limit.get();
+        int allowed = write ? current : Math.max(1, (int) (current * properties.getReadShare()));
+        while (true) {
+            int running = inFlight.get();
+            if (running >= allowed) {
+                (write ? writeShed : readShed).increment();
+                throw new ServiceUnavailableException("Server is overloaded, please retry later");
+            }
+            if (inFlight.compareAndSet(running, running + 1)) {
+                return running + 1;
+            }
+        }
+    }
+
+    private void update(boolean dropped, int started) {
+        if (dropped) {
+            limit.updateAndGet(current -> Math.max(properties.getMinLimit(), (int) (current * properties.getBackoffRatio())));
+        } else if (started * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(properties.getMaxLimit(), current + 1));
+        }
+    }
+
+    private static boolean isOverloaded(ResponseEntity<byte[]> response) {
+        return response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE
+                || response.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT
+                || response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("gateway.concurrency.shed")
+                .description("Upstream calls rejected by the adaptive concurrency limiter")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
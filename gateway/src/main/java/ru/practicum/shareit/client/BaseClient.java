@@ -3,10 +3,14 @@ package ru.practicum.shareit.client;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -14,10 +18,37 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.CONTENT_LENGTH);
+
     protected final RestTemplate rest;
+    @Nullable
+    private final MeterRegistry meterRegistry;
+    @Nullable
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    @Nullable
+    private final ResponseCache responseCache;
+    @Nullable
+    private final RequestCoalescer requestCoalescer;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable MeterRegistry meterRegistry,
+                      @Nullable AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this(rest, meterRegistry, concurrencyLimiter, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable MeterRegistry meterRegistry,
+                      @Nullable AdaptiveConcurrencyLimiter concurrencyLimiter,
+                      @Nullable ResponseCache responseCache, @Nullable RequestCoalescer requestCoalescer) {
         this.rest = rest;
+        this.meterRegistry = meterRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -36,6 +67,39 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId, @Nullable String ifNoneMatch) {
+        return getCached(path, userId, null, ifNoneMatch);
+    }
+
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters,
+                                               @Nullable String ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (responseCache == null) {
+            if (ifNoneMatch != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+            return prepareGatewayResponse(exchange(HttpMethod.GET, path, new HttpEntity<>(headers), parameters));
+        }
+        String key = expand(path, parameters) + "|" + userId;
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        } else if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        ResponseEntity<byte[]> response = exchange(HttpMethod.GET, path, new HttpEntity<>(headers), parameters);
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return prepareGatewayResponse(conditional(ResponseEntity.ok().headers(cached.headers()).body(cached.body()), ifNoneMatch));
+        }
+        if (response.getStatusCode().is2xxSuccessful() && response.getHeaders().getETag() != null) {
+            responseCache.put(key, response.getHeaders(), response.getBody());
+        } else {
+            responseCache.evict(key);
+        }
+        return prepareGatewayResponse(conditional(response, ifNoneMatch));
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -88,20 +152,100 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected static String withPaging(String path, Map<String, Object> parameters, @Nullable String cursor, @Nullable Integer size) {
+        StringBuilder builder = new StringBuilder(path);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            builder.append(builder.indexOf("?") < 0 ? "?" : "&").append("cursor={cursor}");
+        }
+        if (size != null) {
+            parameters.put("size", size);
+            builder.append(builder.indexOf("?") < 0 ? "?" : "&").append("size={size}");
+        }
+        return builder.toString();
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return prepareGatewayResponse(exchange(method, path, requestEntity, parameters));
+    }
+
+    private ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpEntity<?> requestEntity,
+                                            @Nullable Map<String, Object> parameters) {
+        if (method != HttpMethod.GET || requestCoalescer == null) {
+            return send(method, path, requestEntity, parameters);
+        }
+        HttpHeaders headers = requestEntity.getHeaders();
+        String key = expand(path, parameters) + "|" + headers.getFirst("X-Sharer-User-Id") + "|" + headers.getIfNoneMatch();
+        return requestCoalescer.execute(key, () -> send(method, path, requestEntity, parameters));
+    }
+
+    private ResponseEntity<byte[]> send(HttpMethod method, String path, HttpEntity<?> requestEntity,
+                                        @Nullable Map<String, Object> parameters) {
+        if (concurrencyLimiter == null) {
+            return call(method, path, requestEntity, parameters);
+        }
+        return concurrencyLimiter.execute(method != HttpMethod.GET, () -> call(method, path, requestEntity, parameters));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private ResponseEntity<byte[]> call(HttpMethod method, String path, HttpEntity<?> requestEntity,
+                                        @Nullable Map<String, Object> parameters) {
+        if (meterRegistry == null) {
+            return callUpstream(method, path, requestEntity, parameters);
+        }
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            ResponseEntity<byte[]> response = callUpstream(method, path, requestEntity, parameters);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            Timer.builder("gateway.upstream.requests")
+                    .description("Calls from the gateway to the ShareIt server")
+                    .tag("client", getClass().getSimpleName())
+                    .tag("method", method.name())
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ResponseEntity<byte[]> callUpstream(HttpMethod method, String path, HttpEntity<?> requestEntity,
+                                                @Nullable Map<String, Object> parameters) {
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                return rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                return rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode()).headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private static ResponseEntity<byte[]> conditional(ResponseEntity<byte[]> response, @Nullable String ifNoneMatch) {
+        String etag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || etag == null || !response.getStatusCode().is2xxSuccessful()) {
+            return response;
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        HttpHeaders validators = new HttpHeaders();
+        validators.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        boolean matches = validators.getIfNoneMatch().stream()
+                .anyMatch(tag -> tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque));
+        if (!matches) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+
+    private String expand(String path, @Nullable Map<String, Object> parameters) {
+        return (parameters != null ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path)).toString();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -113,15 +257,16 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        HOP_BY_HOP_HEADERS.forEach(headers::remove);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        byte[] body = response.getBody();
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ResponseCache {
+    private final Cache<String, CachedResponse> cache;
+
+    public ResponseCache(@Value("${shareit-server.response-cache.maximum-size:10000}") long maximumSize,
+                         MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, HttpHeaders headers, @Nullable byte[] body) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        cache.put(key, new CachedResponse(HttpHeaders.readOnlyHttpHeaders(copy), body));
+    }
+
+    public void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    public record CachedResponse(HttpHeaders headers, @Nullable byte[] body) {
+        public String etag() {
+            return headers.getETag();
+        }
+    }
+}
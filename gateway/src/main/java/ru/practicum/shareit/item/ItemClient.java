@@ -1,17 +1,23 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AdaptiveConcurrencyLimiter;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentSaveDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -19,12 +25,18 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory, MeterRegistry meterRegistry,
+            AdaptiveConcurrencyLimiter concurrencyLimiter, ResponseCache responseCache, RequestCoalescer requestCoalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                meterRegistry,
+                concurrencyLimiter,
+                responseCache,
+                requestCoalescer
         );
     }
 
@@ -32,6 +44,10 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> importItems(Long userId, List<ItemDto> itemDtos) {
+        return post("/import", userId, itemDtos);
+    }
+
     public ResponseEntity<Object> addComment(Long userId, Long itemId, @Valid CommentSaveDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
@@ -40,18 +56,20 @@ public class ItemClient extends BaseClient {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(Long id, Long userId) {
-        return get("/" + id, userId);
+    public ResponseEntity<Object> getItem(Long id, Long userId, @Nullable String ifNoneMatch) {
+        return getCached("/" + id, userId, ifNoneMatch);
     }
 
     public ResponseEntity<Object> getItems(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findItems(String text) {
+    public ResponseEntity<Object> findItems(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "text", text,
+                "from", from,
+                "size", size
         );
-        return get("/search?text={text}", parameters);
+        return get("/search?text={text}&from={from}&size={size}", parameters);
     }
 }
@@ -1,22 +1,45 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.dto.CommentSaveDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class ItemController {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final int MAX_IMPORT_SIZE = 10_000;
+
     private final ItemClient itemClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping
     public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody ItemDto itemDto) {
@@ -24,6 +47,20 @@ public class ItemController {
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @RequestBody @Size(max = MAX_IMPORT_SIZE) List<@Valid ItemDto> itemDtos) {
+        log.info("Importing {} items, userId={}", itemDtos.size(), userId);
+        return itemClient.importItems(userId, itemDtos);
+    }
+
+    @PostMapping(path = "/import", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importItemsStream(@RequestHeader("X-Sharer-User-Id") Long userId, InputStream body) {
+        List<ItemDto> itemDtos = readItems(body);
+        log.info("Importing {} items from stream, userId={}", itemDtos.size(), userId);
+        return itemClient.importItems(userId, itemDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @PathVariable Long itemId, @Valid @RequestBody CommentSaveDto commentDto) {
@@ -39,9 +76,10 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItem(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId, @PathVariable Long id) {
+    public ResponseEntity<Object> getItem(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId, @PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Retrieving item: {}", id);
-        return itemClient.getItem(id, userId);
+        return itemClient.getItem(id, userId, ifNoneMatch);
     }
 
     @GetMapping
@@ -52,8 +90,31 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam("text") String text) {
-        log.info("Retrieving items with text {}", text);
-        return itemClient.findItems(text);
+    public ResponseEntity<Object> searchItems(@RequestParam("text") String text,
+                                              @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                              @RequestParam(defaultValue = "100") @Positive @Max(100) int size) {
+        log.info("Retrieving items with text {}, from: {}, size: {}", text, from, size);
+        return itemClient.findItems(text, from, size);
+    }
+
+    private List<ItemDto> readItems(InputStream body) {
+        List<ItemDto> itemDtos = new ArrayList<>();
+        try (MappingIterator<ItemDto> iterator = objectMapper.readerFor(ItemDto.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (itemDtos.size() == MAX_IMPORT_SIZE) {
+                    throw new BadRequestException("Cannot import more than " + MAX_IMPORT_SIZE + " items at once");
+                }
+                ItemDto itemDto = iterator.nextValue();
+                Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+                if (!violations.isEmpty()) {
+                    throw new ConstraintViolationException("Invalid item #" + (itemDtos.size() + 1) + ": " + violations.stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage()).sorted().toList(), violations);
+                }
+                itemDtos.add(itemDto);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Malformed item #" + (itemDtos.size() + 1) + ": " + e.getMessage());
+        }
+        return itemDtos;
     }
 }
@@ -19,4 +19,5 @@ public class ItemDto {
     @NotNull
     private Boolean available;
     private Long requestId;
+    private Long version;
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public RateLimitInterceptor(TokenBucketRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = client(request);
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        boolean write = method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+        long waitNanos = rateLimiter.tryAcquire(client, write);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new TooManyRequestsException("Rate limit exceeded for " + client, retryAfter);
+        }
+        return true;
+    }
+
+    private static String client(HttpServletRequest request) {
+        String header = request.getHeader(USER_HEADER);
+        if (header == null) {
+            return "ip " + request.getRemoteAddr();
+        }
+        try {
+            return "user " + Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + USER_HEADER + " header: " + header);
+        }
+    }
+}
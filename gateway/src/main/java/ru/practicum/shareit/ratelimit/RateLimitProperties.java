@@ -0,0 +1,40 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    @Valid
+    private Budget read = new Budget(200, 100);
+    @Valid
+    private Budget write = new Budget(50, 20);
+    @Positive
+    private int stripes = 64;
+    @Positive
+    private long maximumUsers = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        @Positive
+        private int capacity;
+        @Positive
+        private double refillPerSecond;
+    }
+}
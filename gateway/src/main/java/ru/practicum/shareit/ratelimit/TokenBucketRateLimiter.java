@@ -0,0 +1,106 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TokenBucketRateLimiter {
+    private final RateLimitProperties properties;
+    private final Ticker ticker;
+    private final Cache<String, UserBuckets> buckets;
+    private final ReentrantLock[] locks;
+    private final Counter readAllowed;
+    private final Counter readRejected;
+    private final Counter writeAllowed;
+    private final Counter writeRejected;
+
+    public TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumUsers())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .ticker(ticker)
+                .build();
+        locks = new ReentrantLock[Integer.highestOneBit(Math.max(1, properties.getStripes()))];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        readAllowed = counter(meterRegistry, "read", "allowed");
+        readRejected = counter(meterRegistry, "read", "rejected");
+        writeAllowed = counter(meterRegistry, "write", "allowed");
+        writeRejected = counter(meterRegistry, "write", "rejected");
+        Gauge.builder("gateway.ratelimit.users", buckets, Cache::estimatedSize)
+                .description("Users and anonymous clients with an active token bucket")
+                .register(meterRegistry);
+    }
+
+    public long tryAcquire(String key, boolean write) {
+        UserBuckets userBuckets = buckets.get(key, k -> new UserBuckets(properties, ticker.read()));
+        ReentrantLock lock = locks[key.hashCode() & (locks.length - 1)];
+        long waitNanos;
+        lock.lock();
+        try {
+            waitNanos = write
+                    ? userBuckets.write.tryConsume(properties.getWrite(), ticker.read())
+                    : userBuckets.read.tryConsume(properties.getRead(), ticker.read());
+        } finally {
+            lock.unlock();
+        }
+        if (write) {
+            (waitNanos == 0 ? writeAllowed : writeRejected).increment();
+        } else {
+            (waitNanos == 0 ? readAllowed : readRejected).increment();
+        }
+        return waitNanos;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String type, String outcome) {
+        return Counter.builder("gateway.ratelimit.requests")
+                .description("Requests checked by the per-user rate limiter")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static class UserBuckets {
+        private final TokenBucket read;
+        private final TokenBucket write;
+
+        UserBuckets(RateLimitProperties properties, long now) {
+            read = new TokenBucket(properties.getRead().getCapacity(), now);
+            write = new TokenBucket(properties.getWrite().getCapacity(), now);
+        }
+    }
+
+    private static class TokenBucket {
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        long tryConsume(RateLimitProperties.Budget budget, long now) {
+            double refillPerNano = budget.getRefillPerSecond() / TimeUnit.SECONDS.toNanos(1);
+            tokens = Math.min(budget.getCapacity(), tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano);
+        }
+    }
+}
@@ -1,26 +1,40 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AdaptiveConcurrencyLimiter;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory, MeterRegistry meterRegistry,
+            AdaptiveConcurrencyLimiter concurrencyLimiter, ResponseCache responseCache, RequestCoalescer requestCoalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                meterRegistry,
+                concurrencyLimiter,
+                responseCache,
+                requestCoalescer
         );
     }
 
@@ -32,11 +46,18 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(Long userId) {
-        return get("/all", userId);
+    public ResponseEntity<Object> getAllRequests(Long userId, @Nullable Integer from, @Nullable String cursor, @Nullable Integer size,
+                                                 @Nullable String ifNoneMatch) {
+        Map<String, Object> parameters = new HashMap<>();
+        String path = "/all";
+        if (from != null) {
+            parameters.put("from", from);
+            path += "?from={from}";
+        }
+        return getCached(withPaging(path, parameters, cursor, size), userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getRequest(Long id) {
-        return get("/" + id);
+    public ResponseEntity<Object> getRequest(Long id, @Nullable String ifNoneMatch) {
+        return getCached("/" + id, null, ifNoneMatch);
     }
 }
\ No newline at end of file
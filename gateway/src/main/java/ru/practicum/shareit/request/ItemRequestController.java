@@ -1,8 +1,12 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -30,14 +34,19 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get all requests");
-        return itemRequestClient.getAllRequests(userId);
+    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestParam(required = false) @PositiveOrZero Integer from,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) @Positive @Max(100) Integer size,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Get all requests, from: {}, cursor: {}, size: {}", from, cursor, size);
+        return itemRequestClient.getAllRequests(userId, from, cursor, size, ifNoneMatch);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getRequest(@PathVariable Long id) {
+    public ResponseEntity<Object> getRequest(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Get requests {}", id);
-        return itemRequestClient.getRequest(id);
+        return itemRequestClient.getRequest(id, ifNoneMatch);
     }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveConcurrencyLimiterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setInitialLimit(10);
+        properties.setMinLimit(5);
+        properties.setMaxLimit(20);
+        properties.setBackoffRatio(0.5);
+        properties.setReadShare(0.5);
+    }
+
+    @Test
+    void executePassesThroughWhenDisabled() {
+        properties.setEnabled(false);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        ResponseEntity<byte[]> response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        assertThat(limiter.execute(false, () -> response), sameInstance(response));
+        assertThat(limit(), equalTo(10.0));
+    }
+
+    @Test
+    void executeIncreasesLimitAdditively() {
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(3);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        limiter.execute(false, AdaptiveConcurrencyLimiterTest::ok);
+        assertThat(limit(), equalTo(3.0));
+
+        limiter.execute(true, () -> limiter.execute(true, AdaptiveConcurrencyLimiterTest::ok));
+        assertThat(limit(), equalTo(3.0));
+        assertThat(inFlight(), equalTo(0.0));
+    }
+
+    @Test
+    void executeKeepsLimitWhenUnderused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        limiter.execute(false, AdaptiveConcurrencyLimiterTest::ok);
+
+        assertThat(limit(), equalTo(10.0));
+    }
+
+    @Test
+    void executeDecreasesLimitOnOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        ResponseEntity<byte[]> overloaded = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        assertThat(limiter.execute(false, () -> overloaded), sameInstance(overloaded));
+        assertThat(limit(), equalTo(5.0));
+
+        limiter.execute(false, () -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+        assertThat(limit(), equalTo(5.0));
+    }
+
+    @Test
+    void executeDecreasesLimitOnException() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        assertThrows(IllegalStateException.class, () -> limiter.execute(true, () -> {
+            throw new IllegalStateException("connection reset");
+        }));
+
+        assertThat(limit(), equalTo(5.0));
+        assertThat(inFlight(), equalTo(0.0));
+    }
+
+    @Test
+    void executeDecreasesLimitOnSlowResponse() {
+        properties.setLatencyThreshold(Duration.ofMillis(1));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        limiter.execute(false, () -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ok();
+        });
+
+        assertThat(limit(), equalTo(5.0));
+    }
+
+    @Test
+    void executeShedsReadsBeforeWrites() {
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        limiter.execute(false, () -> {
+            assertThat(inFlight(), equalTo(1.0));
+            assertThrows(ServiceUnavailableException.class, () -> limiter.execute(false, AdaptiveConcurrencyLimiterTest::ok));
+            assertThat(inFlight(), equalTo(1.0));
+            return limiter.execute(true, AdaptiveConcurrencyLimiterTest::ok);
+        });
+
+        assertThat(shed("read"), equalTo(1.0));
+        assertThat(shed("write"), equalTo(0.0));
+        assertThat(inFlight(), equalTo(0.0));
+    }
+
+    private static ResponseEntity<byte[]> ok() {
+        return ResponseEntity.ok(new byte[0]);
+    }
+
+    private double limit() {
+        return meterRegistry.get("gateway.concurrency.limit").gauge().value();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("gateway.concurrency.inflight").gauge().value();
+    }
+
+    private double shed(String type) {
+        return meterRegistry.get("gateway.concurrency.shed").tag("type", type).counter().count();
+    }
+}
@@ -0,0 +1,226 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private MockRestServiceServer server;
+    private BaseClient client;
+    private BaseClient cachingClient;
+    private BaseClient meteredClient;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest);
+        meterRegistry = new SimpleMeterRegistry();
+        meteredClient = new BaseClient(rest, meterRegistry, null);
+        cachingClient = new BaseClient(rest, null, null, new ResponseCache(100, new SimpleMeterRegistry()), null);
+    }
+
+    @Test
+    void getPassesBodyThroughAsBytes() {
+        byte[] body = "{ \"id\" : 1,\n  \"name\" : \"drill\" }".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "5"))
+                .andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONNECTION, "keep-alive")
+                        .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length))
+                        .header(HttpHeaders.ETAG, "\"v1\""));
+
+        ResponseEntity<Object> response = client.get("/1", 5L);
+
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat((byte[]) response.getBody(), equalTo(body));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getETag(), equalTo("\"v1\""));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONNECTION), equalTo(false));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH), equalTo(false));
+    }
+
+    @Test
+    void getPassesErrorThrough() {
+        byte[] body = "{\"error\":\"Item with id:2 not found\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("http://server/items/2"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        ResponseEntity<Object> response = client.get("/2", 5L);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat((byte[]) response.getBody(), equalTo(body));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void deleteWithoutBody() {
+        server.expect(requestTo("http://server/items/3"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withNoContent());
+
+        ResponseEntity<Object> response = client.delete("/3", 5L);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NO_CONTENT));
+        assertThat(response.getBody(), nullValue());
+    }
+
+    @Test
+    void postSendsJsonBody() {
+        server.expect(requestTo("http://server/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Sharer-User-Id", "5"))
+                .andExpect(content().json("{\"name\":\"drill\"}"))
+                .andRespond(withSuccess("{\"id\":4}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = client.post("", 5L, Map.of("name", "drill"));
+
+        server.verify();
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo("{\"id\":4}"));
+    }
+
+    @Test
+    void upstreamTimerTaggedWithStatus() {
+        server.expect(requestTo("http://server/items/1")).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://server/items/2")).andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo("http://server/items/3")).andRespond(withNoContent());
+
+        meteredClient.get("/1", 5L);
+        meteredClient.get("/2", 5L);
+        meteredClient.delete("/3", 5L);
+
+        assertThat(upstreamTimer("GET", "200").count(), equalTo(1L));
+        assertThat(upstreamTimer("GET", "404").count(), equalTo(1L));
+        assertThat(upstreamTimer("DELETE", "204").count(), equalTo(1L));
+    }
+
+    @Test
+    void upstreamTimerTaggedWithIoError() {
+        server.expect(requestTo("http://server/items/1")).andRespond(withException(new IOException("connection reset")));
+
+        assertThrows(ResourceAccessException.class, () -> meteredClient.get("/1", 5L));
+
+        assertThat(upstreamTimer("GET", "IO_ERROR").count(), equalTo(1L));
+        assertThat(meterRegistry.find("gateway.upstream.requests").tag("status", "200").timer(), nullValue());
+    }
+
+    @Test
+    void getCachedAnswersClientValidatorWithNotModified() {
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\""));
+
+        cachingClient.getCached("/1", 5L, null);
+        ResponseEntity<Object> response = cachingClient.getCached("/1", 5L, "W/\"v1\"");
+
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo("\"v1\""));
+        assertThat(response.getBody(), nullValue());
+    }
+
+    @Test
+    void getCachedServesCachedBodyForStaleClientValidator() {
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\""));
+
+        cachingClient.getCached("/1", 5L, null);
+        ResponseEntity<Object> response = cachingClient.getCached("/1", 5L, "\"v0\"");
+
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo("{\"id\":1}"));
+    }
+
+    @Test
+    void getCachedForwardsClientValidatorOnCacheMiss() {
+        server.expect(requestTo("http://server/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\""));
+        server.expect(requestTo("http://server/items/2"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\""));
+
+        ResponseEntity<Object> cached = cachingClient.getCached("/1", 5L, "\"v1\"");
+        ResponseEntity<Object> uncached = client.getCached("/2", 5L, "\"v1\"");
+
+        server.verify();
+        assertThat(cached.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(uncached.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(uncached.getHeaders().getETag(), equalTo("\"v1\""));
+    }
+
+    @Test
+    void withPagingAppendsCursorAndSize() {
+        Map<String, Object> parameters = new HashMap<>();
+        assertThat(BaseClient.withPaging("/all", parameters, "abc", 10), equalTo("/all?cursor={cursor}&size={size}"));
+        assertThat(parameters, equalTo(Map.of("cursor", "abc", "size", 10)));
+
+        parameters = new HashMap<>(Map.of("state", "ALL"));
+        assertThat(BaseClient.withPaging("/owner?state={state}", parameters, null, 5), equalTo("/owner?state={state}&size={size}"));
+        assertThat(parameters, equalTo(Map.of("state", "ALL", "size", 5)));
+
+        parameters = new HashMap<>();
+        assertThat(BaseClient.withPaging("/all", parameters, null, null), equalTo("/all"));
+        assertThat(parameters.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void withPagingEncodesCursor() {
+        Map<String, Object> parameters = new HashMap<>();
+        String path = BaseClient.withPaging("/all", parameters, "a&size=1", 10);
+        server.expect(requestTo("http://server/items/all?cursor=a%26size%3D1&size=10"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        client.get(path, 5L, parameters);
+
+        server.verify();
+    }
+
+    private Timer upstreamTimer(String method, String status) {
+        return meterRegistry.get("gateway.upstream.requests")
+                .tags("client", "BaseClient", "method", method, "status", status)
+                .timer();
+    }
+}
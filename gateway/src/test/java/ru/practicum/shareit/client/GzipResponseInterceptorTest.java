@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class GzipResponseInterceptorTest {
+    private static final String BODY = "{\"id\":1,\"name\":\"drill\"}";
+
+    private final GzipResponseInterceptor interceptor = new GzipResponseInterceptor();
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://server/items/1"));
+
+    @Test
+    void interceptRequestsGzip() throws IOException {
+        interceptor.intercept(request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertThat(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING), equalTo("gzip"));
+    }
+
+    @Test
+    void interceptGunzipsResponse() throws IOException {
+        byte[] gzipped = gzip(BODY);
+        MockClientHttpResponse upstream = new MockClientHttpResponse(gzipped, HttpStatus.OK);
+        upstream.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "GZIP");
+        upstream.getHeaders().setContentLength(gzipped.length);
+        upstream.getHeaders().setETag("\"v1\"");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8), equalTo(BODY));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING), equalTo(false));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH), equalTo(false));
+        assertThat(response.getHeaders().getETag(), equalTo("\"v1\""));
+    }
+
+    @Test
+    void interceptKeepsEmptyGzipResponse() throws IOException {
+        for (HttpStatus status : new HttpStatus[] {HttpStatus.NOT_MODIFIED, HttpStatus.NO_CONTENT, HttpStatus.OK}) {
+            MockClientHttpResponse upstream = new MockClientHttpResponse(new byte[0], status);
+            upstream.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            upstream.getHeaders().setETag("\"v1\"");
+
+            ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+            assertThat(response.getStatusCode(), equalTo(status));
+            assertThat(response.getBody().readAllBytes().length, equalTo(0));
+            assertThat(response.getHeaders().getETag(), equalTo("\"v1\""));
+        }
+    }
+
+    @Test
+    void interceptKeepsPlainResponse() throws IOException {
+        MockClientHttpResponse upstream = new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+        assertThat(response, sameInstance(upstream));
+    }
+
+    static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+class HttpClientConfigTest {
+    private static final String BODY = "{\"id\":1}";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class);
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+    private final List<String> upgrades = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            upgrades.add(String.valueOf(exchange.getRequestHeaders().getFirst("Upgrade")));
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = GzipResponseInterceptorTest.gzip(BODY);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void pooledClientByDefault() {
+        contextRunner.withPropertyValues("shareit-server.http.max-total=7", "shareit-server.http.max-per-route=3")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+                    assertThat(connectionManager.getMaxTotal(), equalTo(7));
+                    assertThat(connectionManager.getDefaultMaxPerRoute(), equalTo(3));
+                    assertThat(context.getBean(ClientHttpRequestFactory.class), instanceOf(HttpComponentsClientHttpRequestFactory.class));
+                });
+    }
+
+    @Test
+    void pooledClientReusesConnection() {
+        contextRunner.run(context -> {
+            RestTemplate rest = new RestTemplate(context.getBean(ClientHttpRequestFactory.class));
+            assertThat(rest.getForObject(url(), String.class), equalTo(BODY));
+            assertThat(rest.getForObject(url(), String.class), equalTo(BODY));
+
+            assertThat(clientPorts.size(), equalTo(2));
+            assertThat(clientPorts.get(1), equalTo(clientPorts.get(0)));
+            PoolStats stats = context.getBean(PoolingHttpClientConnectionManager.class).getTotalStats();
+            assertThat(stats.getLeased(), equalTo(0));
+            assertThat(stats.getAvailable(), equalTo(1));
+        });
+    }
+
+    @Test
+    void h2cClientWhenConfigured() {
+        contextRunner.withPropertyValues("shareit-server.http.version=h2c").run(context -> {
+            assertThat(context.getBeansOfType(PoolingHttpClientConnectionManager.class).isEmpty(), equalTo(true));
+            RestTemplate rest = new RestTemplate(context.getBean(ClientHttpRequestFactory.class));
+
+            assertThat(rest.getForObject(url(), String.class), equalTo(BODY));
+            assertThat(upgrades.getFirst(), equalTo("h2c"));
+        });
+    }
+
+    private String url() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/items/1";
+    }
+}
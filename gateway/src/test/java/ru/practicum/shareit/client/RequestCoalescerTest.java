@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void executeJoinsInFlightCall() throws Exception {
+        ResponseEntity<byte[]> response = ResponseEntity.ok(new byte[]{1});
+        Future<ResponseEntity<byte[]>> leader = executor.submit(() -> coalescer.execute("key", blocking(() -> response)));
+        awaitCalls(1);
+        Future<ResponseEntity<byte[]>> follower = executor.submit(() -> coalescer.execute("key", blocking(() -> response)));
+        awaitCoalesced(1);
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS), sameInstance(response));
+        assertThat(follower.get(5, TimeUnit.SECONDS), sameInstance(response));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void executePropagatesExceptionToFollowers() throws Exception {
+        IllegalStateException failure = new IllegalStateException("upstream failed");
+        Future<ResponseEntity<byte[]>> leader = executor.submit(() -> coalescer.execute("key", blocking(() -> {
+            throw failure;
+        })));
+        awaitCalls(1);
+        Future<ResponseEntity<byte[]>> follower = executor.submit(() -> coalescer.execute("key", blocking(() -> {
+            throw new AssertionError("follower must not call upstream");
+        })));
+        awaitCoalesced(1);
+
+        release.countDown();
+
+        assertThat(cause(leader), sameInstance(failure));
+        assertThat(cause(follower), sameInstance(failure));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void executeCallsAgainAfterCompletion() {
+        release.countDown();
+        coalescer.execute("key", blocking(() -> ResponseEntity.ok(new byte[0])));
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("key", blocking(() -> {
+            throw new IllegalStateException("upstream failed");
+        })));
+        coalescer.execute("key", blocking(() -> ResponseEntity.ok(new byte[0])));
+
+        assertThat(calls.get(), equalTo(3));
+        assertThat(coalesced(), equalTo(0.0));
+    }
+
+    @Test
+    void executeDoesNotJoinOtherKeys() throws Exception {
+        Future<ResponseEntity<byte[]>> first = executor.submit(() -> coalescer.execute("first", blocking(() -> ResponseEntity.ok(new byte[0]))));
+        Future<ResponseEntity<byte[]>> second = executor.submit(() -> coalescer.execute("second", blocking(() -> ResponseEntity.ok(new byte[0]))));
+        awaitCalls(2);
+
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(coalesced(), equalTo(0.0));
+    }
+
+    private Supplier<ResponseEntity<byte[]>> blocking(Supplier<ResponseEntity<byte[]>> call) {
+        return () -> {
+            calls.incrementAndGet();
+            try {
+                if (!release.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("call was not released");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return call.get();
+        };
+    }
+
+    private void awaitCalls(int expected) throws InterruptedException {
+        awaitUntil(() -> calls.get() >= expected);
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        awaitUntil(() -> coalesced() >= expected);
+    }
+
+    private static void awaitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("gateway.requests.coalesced").counter().count();
+    }
+
+    private static Throwable cause(Future<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+        return e.getCause();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "shareit-server.url=http://localhost:1",
+        "shareit-gateway.rate-limit.enabled=false"
+})
+@AutoConfigureObservability(tracing = false)
+class UpstreamMetricsTest {
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @Test
+    void upstreamTimerPublishesSloAndPercentileHistogram() {
+        assertThrows(ResourceAccessException.class, () -> itemClient.getItems(1L));
+
+        Timer timer = meterRegistry.get("gateway.upstream.requests")
+                .tags("client", "ItemClient", "method", "GET", "status", "IO_ERROR")
+                .timer();
+        assertThat(timer.count(), equalTo(1L));
+
+        CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        List<Double> boundaries = Arrays.stream(buckets).map(bucket -> bucket.bucket(TimeUnit.MILLISECONDS)).toList();
+        assertThat(boundaries, hasItems(10.0, 25.0, 50.0, 100.0, 250.0, 500.0, 1000.0));
+        assertThat(buckets.length, greaterThan(7));
+
+        String scrape = prometheusMeterRegistry.scrape();
+        assertThat(scrape, containsString("gateway_upstream_requests_seconds_bucket{client=\"ItemClient\","
+                + "method=\"GET\",status=\"IO_ERROR\",le=\"0.01\"}"));
+    }
+}
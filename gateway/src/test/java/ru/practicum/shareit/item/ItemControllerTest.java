@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class, properties = "shareit-gateway.rate-limit.enabled=false")
+class ItemControllerTest {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String ITEM = "{\"name\":\"drill\",\"description\":\"power drill\",\"available\":true}";
+
+    @MockBean
+    ItemClient itemClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final String header = "X-Sharer-User-Id";
+
+    @Test
+    void importItemsStream() throws Exception {
+        when(itemClient.importItems(anyLong(), anyList())).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8)));
+
+        mvc.perform(post("/items/import").header(header, 1)
+                        .content(ITEM + "\n" + ITEM.replace("drill", "saw") + "\n")
+                        .contentType(APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].id", is(2)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ItemDto>> items = ArgumentCaptor.forClass(List.class);
+        verify(itemClient).importItems(eq(1L), items.capture());
+        assertThat(items.getValue().size(), equalTo(2));
+        assertThat(items.getValue().get(0).getName(), equalTo("drill"));
+        assertThat(items.getValue().get(1).getName(), equalTo("saw"));
+    }
+
+    @Test
+    void importItemsStreamInvalidItem() throws Exception {
+        mvc.perform(post("/items/import").header(header, 1)
+                        .content(ITEM + "\n{\"name\":\"\",\"description\":\"saw\",\"available\":true}\n")
+                        .contentType(APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).importItems(anyLong(), anyList());
+    }
+
+    @Test
+    void importItemsStreamMalformed() throws Exception {
+        mvc.perform(post("/items/import").header(header, 1)
+                        .content(ITEM + "\n{\"name\":")
+                        .contentType(APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).importItems(anyLong(), anyList());
+    }
+
+    @Test
+    void importItemsStreamTooLarge() throws Exception {
+        mvc.perform(post("/items/import").header(header, 1)
+                        .content((ITEM + "\n").repeat(10_001))
+                        .contentType(APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).importItems(anyLong(), anyList());
+    }
+
+    @Test
+    void importItemsJson() throws Exception {
+        when(itemClient.importItems(anyLong(), anyList())).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8)));
+
+        mvc.perform(post("/items/import").header(header, 1)
+                        .content("[" + ITEM + "]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)));
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimitInterceptorTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(1, 0.4));
+        properties.setWrite(new RateLimitProperties.Budget(1, 0.4));
+        interceptor = new RateLimitInterceptor(new TokenBucketRateLimiter(properties, new SimpleMeterRegistry(), nanos::get));
+    }
+
+    @Test
+    void preHandleLimitsUser() {
+        assertThat(preHandle(request("GET", "10.0.0.1", "1")), equalTo(true));
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> preHandle(request("GET", "10.0.0.2", "1")));
+        assertThat(e.getRetryAfterSeconds(), equalTo(3L));
+        assertThat(preHandle(request("GET", "10.0.0.1", "2")), equalTo(true));
+    }
+
+    @Test
+    void preHandleLimitsAnonymousClientByAddress() {
+        assertThat(preHandle(request("GET", "10.0.0.1", null)), equalTo(true));
+
+        assertThrows(TooManyRequestsException.class, () -> preHandle(request("GET", "10.0.0.1", null)));
+        assertThat(preHandle(request("GET", "10.0.0.2", null)), equalTo(true));
+    }
+
+    @Test
+    void preHandleRejectsInvalidUserHeader() {
+        assertThrows(BadRequestException.class, () -> preHandle(request("GET", "10.0.0.1", "abc")));
+    }
+
+    @Test
+    void preHandleUsesWriteBudgetForWrites() {
+        assertThat(preHandle(request("POST", "10.0.0.1", "1")), equalTo(true));
+        assertThrows(TooManyRequestsException.class, () -> preHandle(request("PATCH", "10.0.0.1", "1")));
+        assertThat(preHandle(request("GET", "10.0.0.1", "1")), equalTo(true));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(3000));
+        assertThat(preHandle(request("DELETE", "10.0.0.1", "1")), equalTo(true));
+    }
+
+    private boolean preHandle(MockHttpServletRequest request) {
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    private static MockHttpServletRequest request(String method, String address, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/items");
+        request.setRemoteAddr(address);
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+class RateLimitPropertiesTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void bindDefaults() {
+        contextRunner.run(context -> {
+            assertThat(context.getStartupFailure() == null, equalTo(true));
+            assertThat(context.getBean(RateLimitProperties.class).getRead().getRefillPerSecond(), equalTo(100.0));
+        });
+    }
+
+    @Test
+    void rejectZeroRefill() {
+        contextRunner.withPropertyValues("shareit-gateway.rate-limit.read.refill-per-second=0")
+                .run(context -> assertThat(context.getStartupFailure(), notNullValue()));
+    }
+
+    @Test
+    void rejectZeroCapacity() {
+        contextRunner.withPropertyValues("shareit-gateway.rate-limit.write.capacity=0")
+                .run(context -> assertThat(context.getStartupFailure(), notNullValue()));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+
+class TokenBucketRateLimiterTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(2, 4));
+        properties.setWrite(new RateLimitProperties.Budget(1, 1));
+        rateLimiter = new TokenBucketRateLimiter(properties, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void tryAcquireUpToCapacity() {
+        assertThat(rateLimiter.tryAcquire("user 1", false), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("user 1", false), equalTo(0L));
+        assertWait(rateLimiter.tryAcquire("user 1", false), TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    void tryAcquireAfterRefill() {
+        rateLimiter.tryAcquire("user 1", false);
+        rateLimiter.tryAcquire("user 1", false);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertWait(rateLimiter.tryAcquire("user 1", false), TimeUnit.MILLISECONDS.toNanos(150));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(rateLimiter.tryAcquire("user 1", false), equalTo(0L));
+    }
+
+    @Test
+    void tryAcquireRefillCappedAtCapacity() {
+        rateLimiter.tryAcquire("user 1", false);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertThat(rateLimiter.tryAcquire("user 1", false), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("user 1", false), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("user 1", false) > 0, equalTo(true));
+    }
+
+    @Test
+    void tryAcquireSeparateBucketsPerKeyAndType() {
+        assertThat(rateLimiter.tryAcquire("user 1", true), equalTo(0L));
+        assertWait(rateLimiter.tryAcquire("user 1", true), TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(rateLimiter.tryAcquire("user 1", false), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("user 2", true), equalTo(0L));
+        assertThat(rateLimiter.tryAcquire("ip 127.0.0.1", true), equalTo(0L));
+    }
+
+    @Test
+    void tryAcquireCountsOutcomes() {
+        rateLimiter.tryAcquire("user 1", true);
+        rateLimiter.tryAcquire("user 1", true);
+        rateLimiter.tryAcquire("user 1", false);
+
+        assertThat(count("write", "allowed"), equalTo(1.0));
+        assertThat(count("write", "rejected"), equalTo(1.0));
+        assertThat(count("read", "allowed"), equalTo(1.0));
+        assertThat(count("read", "rejected"), equalTo(0.0));
+    }
+
+    private static void assertWait(long waitNanos, long expectedNanos) {
+        assertThat((double) waitNanos, closeTo(expectedNanos, 2));
+    }
+
+    private double count(String type, String outcome) {
+        return meterRegistry.get("gateway.ratelimit.requests").tag("type", type).tag("outcome", outcome).counter().count();
+    }
+}
@@ -1,10 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingSaveDto;
 import ru.practicum.shareit.booking.enm.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.Cursors;
 
 import java.util.List;
 import java.util.Optional;
@@ -40,16 +43,34 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam(required = false) Optional<BookingState> state) {
-        log.info("Getting bookings by owner with state: {}", state);
-        return bookingService.getBookingsByOwner(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(required = false) Optional<BookingState> state,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        log.info("Getting bookings by owner with state: {}, cursor: {}, size: {}", state, cursor, size);
+        if (cursor == null && size == null) {
+            return ResponseEntity.ok(bookingService.getBookingsByOwner(userId, state));
+        }
+        return toResponse(bookingService.getBookingsByOwner(userId, state, cursor, size));
     }
 
     @GetMapping
-    public List<BookingDto> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                        @RequestParam(required = false) Optional<BookingState> state) {
-        log.info("Getting bookings with state: {}", state);
-        return bookingService.getBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestParam(required = false) Optional<BookingState> state,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        log.info("Getting bookings with state: {}, cursor: {}, size: {}", state, cursor, size);
+        if (cursor == null && size == null) {
+            return ResponseEntity.ok(bookingService.getBookings(userId, state));
+        }
+        return toResponse(bookingService.getBookings(userId, state, cursor, size));
+    }
+
+    private static ResponseEntity<List<BookingDto>> toResponse(CursorPage<BookingDto> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(Cursors.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
     }
 }
@@ -1,6 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -11,16 +15,19 @@ import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.Cursors;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +35,8 @@ import java.util.Optional;
 @Service
 @Transactional(readOnly = true)
 public class BookingService {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     BookingRepository repository;
     UserService userService;
     ItemService itemService;
@@ -41,7 +50,7 @@ public class BookingService {
     @Transactional
     public BookingDto createBooking(Long userId, BookingSaveDto bookingSaveDto) {
         UserDto userDto = userService.getUserById(userId);
-        ItemDto itemDto = itemService.getItem(bookingSaveDto.getItemId(), userId);
+        ItemDto itemDto = itemService.lookupItem(bookingSaveDto.getItemId());
         if (bookingSaveDto.getStart().isEqual(bookingSaveDto.getEnd())) {
             throw new BadRequestException("Start and end are equal");
         }
@@ -51,11 +60,28 @@ public class BookingService {
         if (Boolean.FALSE.equals(itemDto.getAvailable())) {
             throw new BadRequestException("Item is not available");
         }
+        checkNotBooked(itemDto.getId(), bookingSaveDto.getStart(), bookingSaveDto.getEnd());
         Booking booking = BookingMapper.toBooking(bookingSaveDto);
         booking.setBooker(UserMapper.toUser(userDto));
-        booking.setItem(ItemMapper.toItem(itemDto, userDto));
+        booking.setItem(itemService.getItemReference(itemDto.getId()));
         booking.setStatus(BookingStatus.WAITING);
-        return BookingMapper.toBookingDto(repository.save(booking));
+        try {
+            return BookingMapper.toBookingDto(repository.save(booking), itemDto, userDto);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMostSpecificCause() instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                throw new ConflictException("Item with id:" + itemDto.getId() + " is already booked for this period");
+            }
+            throw e;
+        }
+    }
+
+    private void checkNotBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        repository.findFirstByItem_IdAndStatusNotAndStartBeforeOrderByStartDesc(itemId, BookingStatus.REJECTED, end)
+                .filter(previous -> previous.getEnd().isAfter(start))
+                .ifPresent(previous -> {
+                    throw new ConflictException("Item with id:" + itemId + " is already booked for this period");
+                });
     }
 
     public BookingDto getBooking(Long userId, Long bookingId) {
@@ -78,6 +104,9 @@ public class BookingService {
         if (!userId.equals(booking.getItem().getOwner().getId())) {
             throw new ForbiddenException("User is not owner of item");
         }
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            throw new ConflictException("Booking with id:" + bookingId + " is already " + booking.getStatus());
+        }
         if (Boolean.TRUE.equals(approved)) {
             booking.setStatus(BookingStatus.APPROVED);
         } else {
@@ -91,8 +120,11 @@ public class BookingService {
         return switch (state) {
             case ALL ->
                     repository.findByBooker_IdOrderByStartDesc(userId).stream().map(BookingMapper::toBookingDto).toList();
-            case CURRENT -> repository.findByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.APPROVED)
-                    .stream().map(BookingMapper::toBookingDto).toList();
+            case CURRENT -> {
+                LocalDateTime now = LocalDateTime.now();
+                yield repository.findByBooker_IdAndStartLessThanEqualAndEndIsAfterOrderByStartDesc(userId, now, now)
+                        .stream().map(BookingMapper::toBookingDto).toList();
+            }
             case PAST -> repository.findByBooker_IdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now())
                     .stream().map(BookingMapper::toBookingDto).toList();
             case FUTURE -> repository.findByBooker_IdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now())
@@ -110,8 +142,11 @@ public class BookingService {
         return switch (state) {
             case ALL ->
                     repository.findBookingsByItemOwnerOrderByStartDesc(user).stream().map(BookingMapper::toBookingDto).toList();
-            case CURRENT -> repository.findBookingsByItemOwnerAndStatusOrderByStartDesc(user, BookingStatus.APPROVED)
-                    .stream().map(BookingMapper::toBookingDto).toList();
+            case CURRENT -> {
+                LocalDateTime now = LocalDateTime.now();
+                yield repository.findBookingsByItemOwnerAndStartLessThanEqualAndEndIsAfterOrderByStartDesc(user, now, now)
+                        .stream().map(BookingMapper::toBookingDto).toList();
+            }
             case PAST -> repository.findBookingsByItemOwnerAndEndIsBeforeOrderByStartDesc(user, LocalDateTime.now())
                     .stream().map(BookingMapper::toBookingDto).toList();
             case FUTURE -> repository.findBookingsByItemOwnerAndStartIsAfterOrderByStartDesc(user, LocalDateTime.now())
@@ -123,12 +158,63 @@ public class BookingService {
         };
     }
 
+    public CursorPage<BookingDto> getBookings(Long userId, Optional<BookingState> bState, String cursor, Integer size) {
+        BookingState state = bState.orElse(BookingState.ALL);
+        ScrollPosition position = Cursors.decode(cursor, "start");
+        Limit limit = Cursors.limit(size);
+        Window<Booking> window = switch (state) {
+            case ALL -> repository.findByBooker_IdOrderByStartDescIdDesc(userId, position, limit);
+            case CURRENT -> {
+                LocalDateTime now = LocalDateTime.now();
+                yield repository.findByBooker_IdAndStartLessThanEqualAndEndIsAfterOrderByStartDescIdDesc(userId, now, now,
+                        position, limit);
+            }
+            case PAST ->
+                    repository.findByBooker_IdAndEndIsBeforeOrderByStartDescIdDesc(userId, LocalDateTime.now(), position, limit);
+            case FUTURE ->
+                    repository.findByBooker_IdAndStartIsAfterOrderByStartDescIdDesc(userId, LocalDateTime.now(), position, limit);
+            case WAITING ->
+                    repository.findByBooker_IdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.WAITING, position, limit);
+            case REJECTED ->
+                    repository.findByBooker_IdAndStatusOrderByStartDescIdDesc(userId, BookingStatus.REJECTED, position, limit);
+        };
+        return Cursors.toPage(window.map(BookingMapper::toBookingDto), "start");
+    }
+
+    public CursorPage<BookingDto> getBookingsByOwner(Long userId, Optional<BookingState> bState, String cursor, Integer size) {
+        BookingState state = bState.orElse(BookingState.ALL);
+        User user = UserMapper.toUser(userService.getUserById(userId));
+        ScrollPosition position = Cursors.decode(cursor, "start");
+        Limit limit = Cursors.limit(size);
+        Window<Booking> window = switch (state) {
+            case ALL -> repository.findBookingsByItemOwnerOrderByStartDescIdDesc(user, position, limit);
+            case CURRENT -> {
+                LocalDateTime now = LocalDateTime.now();
+                yield repository.findBookingsByItemOwnerAndStartLessThanEqualAndEndIsAfterOrderByStartDescIdDesc(user, now, now,
+                        position, limit);
+            }
+            case PAST ->
+                    repository.findBookingsByItemOwnerAndEndIsBeforeOrderByStartDescIdDesc(user, LocalDateTime.now(), position, limit);
+            case FUTURE ->
+                    repository.findBookingsByItemOwnerAndStartIsAfterOrderByStartDescIdDesc(user, LocalDateTime.now(), position, limit);
+            case WAITING ->
+                    repository.findBookingsByItemOwnerAndStatusOrderByStartDescIdDesc(user, BookingStatus.WAITING, position, limit);
+            case REJECTED ->
+                    repository.findBookingsByItemOwnerAndStatusOrderByStartDescIdDesc(user, BookingStatus.REJECTED, position, limit);
+        };
+        return Cursors.toPage(window.map(BookingMapper::toBookingDto), "start");
+    }
+
     public List<BookingDto> getBookingsByUserAndItem(Long userId, Long itemId) {
         return repository.findByBooker_IdAndItem_IdAndStatusAndEndIsBefore(userId, itemId, BookingStatus.APPROVED, LocalDateTime.now())
                 .stream().map(BookingMapper::toBookingDto).toList();
     }
 
-    public List<BookingDto> getBookingsByItem(Long itemId) {
-        return repository.findByItem_Id(itemId).stream().map(BookingMapper::toBookingDto).toList();
+    public List<BookingDto> getLastAndNextBookingsByItems(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return repository.findLastAndNextByItemIds(itemIds, LocalDateTime.now())
+                .stream().map(BookingMapper::toBookingDto).toList();
     }
 }
@@ -1,31 +1,115 @@
 package ru.practicum.shareit.booking.storage;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.enm.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    @Override
+    @EntityGraph("Booking.itemAndBooker")
+    Optional<Booking> findById(Long id);
+
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findByBooker_IdAndStatusOrderByStartDesc(Long userId, BookingStatus bookingStatus);
 
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findByBooker_IdAndStartIsAfterOrderByStartDesc(Long userId, LocalDateTime now);
 
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findByBooker_IdAndEndIsBeforeOrderByStartDesc(Long userId, LocalDateTime now);
 
+    @EntityGraph("Booking.itemAndBooker")
+    List<Booking> findByBooker_IdAndStartLessThanEqualAndEndIsAfterOrderByStartDesc(Long userId, LocalDateTime start,
+                                                                                    LocalDateTime end);
+
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findByBooker_IdOrderByStartDesc(Long userId);
 
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findBookingsByItemOwnerOrderByStartDesc(User user);
 
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findByItem_Id(Long itemId);
 
+    Optional<Booking> findFirstByItem_IdAndStatusNotAndStartBeforeOrderByStartDesc(Long itemId, BookingStatus status,
+                                                                                 LocalDateTime end);
+
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findBookingsByItemOwnerAndStatusOrderByStartDesc(User user, BookingStatus bookingStatus);
 
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findBookingsByItemOwnerAndEndIsBeforeOrderByStartDesc(User user, LocalDateTime now);
 
+    @Query(" select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker " +
+            "where i.owner = ?1 and b.start <= ?2 and b.end > ?3 " +
+            "order by b.start desc")
+    List<Booking> findBookingsByItemOwnerAndStartLessThanEqualAndEndIsAfterOrderByStartDesc(User user, LocalDateTime start,
+                                                                                            LocalDateTime end);
+
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findBookingsByItemOwnerAndStartIsAfterOrderByStartDesc(User user, LocalDateTime now);
 
+    @EntityGraph("Booking.itemAndBooker")
+    @Query(" select b from Booking b " +
+            "where b.item.id in ?1 " +
+            " and (b.end = (select max(l.end) from Booking l where l.item = b.item and l.end < ?2) " +
+            " or b.start = (select min(n.start) from Booking n where n.item = b.item and n.start > ?2))")
+    List<Booking> findLastAndNextByItemIds(Collection<Long> itemIds, LocalDateTime now);
+
+    @EntityGraph("Booking.itemAndBooker")
     List<Booking> findByBooker_IdAndItem_IdAndStatusAndEndIsBefore(Long userId, Long itemId, BookingStatus bookingStatus, LocalDateTime date);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findByBooker_IdOrderByStartDescIdDesc(Long userId, ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findByBooker_IdAndStatusOrderByStartDescIdDesc(Long userId, BookingStatus bookingStatus,
+                                                                  ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findByBooker_IdAndStartIsAfterOrderByStartDescIdDesc(Long userId, LocalDateTime now,
+                                                                        ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findByBooker_IdAndEndIsBeforeOrderByStartDescIdDesc(Long userId, LocalDateTime now,
+                                                                       ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findByBooker_IdAndStartLessThanEqualAndEndIsAfterOrderByStartDescIdDesc(Long userId, LocalDateTime start,
+                                                                                           LocalDateTime end,
+                                                                                           ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findBookingsByItemOwnerOrderByStartDescIdDesc(User user, ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findBookingsByItemOwnerAndStatusOrderByStartDescIdDesc(User user, BookingStatus bookingStatus,
+                                                                          ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findBookingsByItemOwnerAndStartIsAfterOrderByStartDescIdDesc(User user, LocalDateTime now,
+                                                                                ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findBookingsByItemOwnerAndEndIsBeforeOrderByStartDescIdDesc(User user, LocalDateTime now,
+                                                                               ScrollPosition position, Limit limit);
+
+    @EntityGraph("Booking.itemAndBooker")
+    Window<Booking> findBookingsByItemOwnerAndStartLessThanEqualAndEndIsAfterOrderByStartDescIdDesc(User user, LocalDateTime start,
+                                                                                                   LocalDateTime end,
+                                                                                                   ScrollPosition position,
+                                                                                                   Limit limit);
 }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.exception;
 
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
@@ -25,6 +27,12 @@ public class ErrorHandler {
         return Map.of("error", ex.getMessage());
     }
 
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleOptimisticLockException(final RuntimeException e) {
+        return Map.of("error", "Resource was modified concurrently, please retry");
+    }
+
     @ExceptionHandler({MethodArgumentNotValidException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public List<String> handleArgumentNotValidException(final MethodArgumentNotValidException ex) {
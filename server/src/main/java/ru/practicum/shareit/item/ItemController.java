@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentSaveDto;
 import ru.practicum.shareit.item.dto.ItemAllDto;
@@ -27,6 +28,12 @@ public class ItemController {
         return itemService.createItem(userId, itemDto);
     }
 
+    @PostMapping("/import")
+    public List<ItemDto> importItems(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody List<ItemDto> itemDtos) {
+        log.info("Importing {} items for user: {}", itemDtos.size(), userId);
+        return itemService.importItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
                               @RequestBody ItemDto itemDto) {
@@ -35,8 +42,12 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ItemAllDto getItem(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId, @PathVariable Long id) {
+    public ItemAllDto getItem(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId, @PathVariable Long id,
+                              WebRequest request) {
         log.info("Retrieving item: {}", id);
+        if (request.checkNotModified(itemService.getItemEtag(id, userId))) {
+            return null;
+        }
         return itemService.getItem(id, userId);
     }
 
@@ -48,9 +59,11 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam("text") String text) {
-        log.info("Retrieving items with text {}", text);
-        return itemService.findItems(text);
+    public List<ItemDto> searchItems(@RequestParam("text") String text,
+                                     @RequestParam(defaultValue = "0") int from,
+                                     @RequestParam(defaultValue = "" + ItemService.MAX_SEARCH_SIZE) int size) {
+        log.info("Retrieving items with text {}, from: {}, size: {}", text, from, size);
+        return itemService.findItems(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
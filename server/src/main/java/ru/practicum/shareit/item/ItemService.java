@@ -4,9 +4,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentSaveDto;
@@ -16,6 +19,7 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.ItemRequestService;
@@ -27,30 +31,37 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class ItemService {
+    public static final int MAX_SEARCH_SIZE = 100;
+    public static final int MAX_IMPORT_SIZE = 10_000;
+    static final int MAX_IN_LIST_SIZE = 500;
 
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final BookingService bookingService;
     private final CommentRepository commentRepository;
     private final ItemRequestService itemRequestService;
+    private final ItemSearch itemSearch;
 
     @Autowired
     public ItemService(ItemRepository itemRepository, UserService userService,
-                       @Lazy BookingService bookingService, CommentRepository commentRepository, @Lazy ItemRequestService itemRequestService) {
+                       @Lazy BookingService bookingService, CommentRepository commentRepository, @Lazy ItemRequestService itemRequestService,
+                       ItemSearch itemSearch) {
         this.itemRepository = itemRepository;
         this.userService = userService;
         this.bookingService = bookingService;
         this.commentRepository = commentRepository;
         this.itemRequestService = itemRequestService;
+        this.itemSearch = itemSearch;
     }
 
     @Transactional
@@ -63,7 +74,28 @@ public class ItemService {
             ItemRequest request = ItemRequestMapper.toItemRequest(itemRequestService.getRequest(itemDto.getRequestId()), userDto);
             item.setRequest(request);
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        indexAfterCommit(List.of(saved));
+        return ItemMapper.toItemDto(saved);
+    }
+
+    @Transactional
+    public List<ItemDto> importItems(Long userId, List<ItemDto> itemDtos) {
+        if (itemDtos.size() > MAX_IMPORT_SIZE) {
+            throw new BadRequestException("Cannot import more than " + MAX_IMPORT_SIZE + " items at once");
+        }
+        UserDto userDto = userService.getUserById(userId);
+        Map<Long, ItemRequest> requests = itemRequestService.getRequestsById(itemDtos.stream()
+                .map(ItemDto::getRequestId).filter(Objects::nonNull).collect(Collectors.toSet()));
+        List<Item> items = itemDtos.stream().map(itemDto -> {
+            Item item = ItemMapper.toItem(itemDto, userDto);
+            item.setRequest(itemDto.getRequestId() != null ? requests.get(itemDto.getRequestId()) : null);
+            return item;
+        }).toList();
+        List<Item> saved = itemRepository.saveAll(items);
+        itemRepository.flush();
+        indexAfterCommit(saved);
+        return saved.stream().map(ItemMapper::toItemDto).toList();
     }
 
     @Transactional
@@ -72,6 +104,9 @@ public class ItemService {
         if (!itemToUpdate.getOwner().getId().equals(userId)) {
             throw new NotFoundException("You do not own this item");
         }
+        if (itemDto.getVersion() != null && !itemDto.getVersion().equals(itemToUpdate.getVersion())) {
+            throw new ConflictException("Item with id:" + itemId + " was modified, current version is " + itemToUpdate.getVersion());
+        }
         if (itemDto.getName() != null) {
             if (!itemToUpdate.getName().isEmpty()) {
                 itemToUpdate.setName(itemDto.getName());
@@ -90,29 +125,56 @@ public class ItemService {
             itemToUpdate.setAvailable(itemDto.getAvailable());
         }
         Item item = itemRepository.save(itemToUpdate);
+        indexAfterCommit(List.of(item));
         return ItemMapper.toItemDto(item);
     }
 
+    private void indexAfterCommit(List<Item> items) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                items.forEach(itemSearch::index);
+            }
+        });
+    }
+
     public ItemAllDto getItem(Long id, Long userId) {
         Item item = itemRepository.findById(id).orElseThrow(() -> new NotFoundException("Item with id:" + id + " not found"));
         BookingDto lastBooking = null;
         BookingDto nextBooking = null;
         if (item.getOwner().getId().equals(userId)) {
-            List<BookingDto> bookings = bookingService.getBookingsByItem(item.getId());
+            List<BookingDto> bookings = bookingService.getLastAndNextBookingsByItems(List.of(item.getId()));
             lastBooking = findLast(bookings);
             nextBooking = findNext(bookings);
         }
-        return ItemMapper.toItemAllDto(itemRepository.findById(id).orElseThrow(() -> new NotFoundException("Item with id:" + id + " not found")),
-                lastBooking, nextBooking, findComments(id));
+        return ItemMapper.toItemAllDto(item, lastBooking, nextBooking, findComments(id));
+    }
+
+    public String getItemEtag(Long id, Long userId) {
+        return itemRepository.findItemValidator(id, LocalDateTime.now())
+                .map(validator -> validator + "-" + userId)
+                .orElse(null);
+    }
+
+    public ItemDto lookupItem(Long id) {
+        return itemRepository.findItemDtoById(id).orElseThrow(() -> new NotFoundException("Item with id:" + id + " not found"));
+    }
+
+    public Item getItemReference(Long id) {
+        return itemRepository.getReferenceById(id);
     }
 
     public List<ItemAllDto> getItems(Long userId) {
         userService.getUserById(userId);
-        Map<Long, List<BookingDto>> bookingsMap = bookingService.getBookingsByOwner(userId, Optional.empty())
+        List<Item> items = itemRepository.findAllByOwnerId(userId);
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, List<BookingDto>> bookingsMap = bookingService.getLastAndNextBookingsByItems(itemIds)
                 .stream()
                 .collect(Collectors.groupingBy((BookingDto booking) -> booking.getItem().getId()));
-        return itemRepository.findAllByOwnerId(userId).stream()
-                .map(item -> ItemMapper.toItemAllDto(item, findLast(bookingsMap.get(item.getId())), findNext(bookingsMap.get(item.getId())), findComments(item.getId()))).toList();
+        Map<Long, List<CommentDto>> commentsMap = findComments(itemIds);
+        return items.stream()
+                .map(item -> ItemMapper.toItemAllDto(item, findLast(bookingsMap.get(item.getId())), findNext(bookingsMap.get(item.getId())),
+                        commentsMap.getOrDefault(item.getId(), List.of()))).toList();
     }
 
     private List<CommentDto> findComments(Long itemId) {
@@ -120,6 +182,15 @@ public class ItemService {
                 .map(CommentMapper::toCommentDto).toList();
     }
 
+    private Map<Long, List<CommentDto>> findComments(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findAllByItem_IdInOrderByCreated(itemIds).stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
+    }
+
     private BookingDto findLast(List<BookingDto> booking) {
         if (booking == null) {
             return null;
@@ -143,21 +214,28 @@ public class ItemService {
     }
 
     public List<ItemDto> findItems(String text) {
-        if (text.isEmpty()) {
+        return findItems(text, 0, MAX_SEARCH_SIZE);
+    }
+
+    public List<ItemDto> findItems(String text, int from, int size) {
+        if (from < 0 || size < 1 || size > MAX_SEARCH_SIZE) {
+            throw new BadRequestException("Invalid paging: from=" + from + ", size=" + size);
+        }
+        if (text.isBlank()) {
             return List.of();
         } else {
-            List<Item> items = itemRepository.search(text);
+            List<Item> items = itemSearch.search(text, from, size);
             return items.stream().map(ItemMapper::toItemDto).toList();
         }
     }
 
     @Transactional
     public CommentDto addComment(Long userId, Long itemId, CommentSaveDto commentDto) {
-        ItemDto item = getItem(itemId, userId);
+        lookupItem(itemId);
         UserDto user = userService.getUserById(userId);
         List<BookingDto> bookings = bookingService.getBookingsByUserAndItem(userId, itemId);
         if (!bookings.isEmpty()) {
-            Comment comment = commentRepository.save(CommentMapper.toComment(commentDto, user, item));
+            Comment comment = commentRepository.save(CommentMapper.toComment(commentDto, user, getItemReference(itemId)));
             return CommentMapper.toCommentDto(comment);
         } else {
             throw new BadRequestException("User can't make comments");
@@ -169,6 +247,12 @@ public class ItemService {
     }
 
     public List<ItemDto> getItemsByRequests(List<ItemRequest> requests) {
-        return itemRepository.findAllByRequestIn(requests).stream().map(ItemMapper::toItemDto).toList();
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
+        List<ItemDto> items = new ArrayList<>();
+        for (int from = 0; from < requestIds.size(); from += MAX_IN_LIST_SIZE) {
+            List<Long> chunk = requestIds.subList(from, Math.min(from + MAX_IN_LIST_SIZE, requestIds.size()));
+            itemRepository.findAllByRequestIdIn(chunk).forEach(item -> items.add(ItemMapper.toItemDto(item)));
+        }
+        return items;
     }
 }
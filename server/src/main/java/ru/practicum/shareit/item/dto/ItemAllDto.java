@@ -16,8 +16,9 @@ public class ItemAllDto extends ItemDto {
     private List<CommentDto> comments;
 
     public ItemAllDto(Long id, String name, String description, Boolean available,
-                      Long requestId, Long ownerId, BookingDto lastBooking, BookingDto nextBooking, List<CommentDto> comments) {
-        super(id, name, description, available, requestId, ownerId);
+                      Long requestId, Long ownerId, Long version, BookingDto lastBooking, BookingDto nextBooking,
+                      List<CommentDto> comments) {
+        super(id, name, description, available, requestId, ownerId, version);
         this.lastBooking = lastBooking;
         this.nextBooking = nextBooking;
         this.comments = comments;
@@ -16,4 +16,5 @@ public class ItemDto {
     private Boolean available;
     private Long requestId;
     private Long ownerId;
+    private Long version;
 }
@@ -2,8 +2,8 @@ package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentSaveDto;
-import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
@@ -15,8 +15,7 @@ public class CommentMapper {
                 comment.getAuthor().getName(), comment.getCreated());
     }
 
-    public static Comment toComment(CommentSaveDto commentDto, UserDto userDto, ItemDto itemDto) {
-        return new Comment(null, commentDto.getText(), ItemMapper.toItem(itemDto, userDto), UserMapper.toUser(userDto),
-                LocalDateTime.now());
+    public static Comment toComment(CommentSaveDto commentDto, UserDto userDto, Item item) {
+        return new Comment(null, commentDto.getText(), item, UserMapper.toUser(userDto), LocalDateTime.now());
     }
 }
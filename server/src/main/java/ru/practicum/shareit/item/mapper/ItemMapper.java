@@ -17,18 +17,19 @@ public class ItemMapper {
                 item.getDescription(),
                 item.getAvailable(),
                 item.getRequest() != null ? item.getRequest().getId() : null,
-                item.getOwner() != null ? item.getOwner().getId() : null
+                item.getOwner() != null ? item.getOwner().getId() : null,
+                item.getVersion()
         );
     }
 
     public static ItemAllDto toItemAllDto(Item item, BookingDto lastBooking, BookingDto nextBooking, List<CommentDto> commentsDto) {
         return new ItemAllDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
                 item.getRequest() != null ? item.getRequest().getId() : null,
-                item.getOwner().getId(), lastBooking, nextBooking, commentsDto);
+                item.getOwner().getId(), item.getVersion(), lastBooking, nextBooking, commentsDto);
     }
 
     public static Item toItem(ItemDto itemDto, UserDto userDto) {
-        return Item.builder().id(itemDto.getId()).name(itemDto.getName()).description(itemDto.getDescription())
+        return Item.builder().name(itemDto.getName()).description(itemDto.getDescription())
                 .available(itemDto.getAvailable()).owner(UserMapper.toUser(userDto)).build();
     }
 }
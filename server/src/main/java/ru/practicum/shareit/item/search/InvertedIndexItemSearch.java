@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "index")
+public class InvertedIndexItemSearch implements ItemSearch {
+    private static final int NAME = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int CHUNK_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> itemTokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InvertedIndexItemSearch(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<ItemText> items = itemRepository.findAllByAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            itemTokens.clear();
+            items.forEach(item -> add(item.getId(), item.getName(), item.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index built: {} items, {} tokens", itemTokens.size(), postings.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                add(item.getId(), item.getName(), item.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long id) {
+        lock.readLock().lock();
+        try {
+            return itemTokens.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        List<Long> ranked = rank(tokenize(text));
+        List<Long> available = new ArrayList<>();
+        for (int start = 0; start < ranked.size() && available.size() < from + size; start += CHUNK_SIZE) {
+            List<Long> chunk = ranked.subList(start, Math.min(start + CHUNK_SIZE, ranked.size()));
+            Set<Long> stored = new HashSet<>(itemRepository.findAvailableIds(chunk));
+            chunk.stream().filter(stored::contains).forEach(available::add);
+        }
+        List<Long> ids = available.stream().skip(from).limit(size).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Long> rank(Set<String> tokens) {
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = new HashMap<>();
+                postings.subMap(token, true, token + Character.MAX_VALUE, false).forEach((indexed, fields) ->
+                        fields.forEach((id, mask) -> tokenScores.merge(id, score(indexed.equals(token), mask), Math::max)));
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static int score(boolean exact, int mask) {
+        int score = ((mask & NAME) != 0 ? 2 : 0) + ((mask & DESCRIPTION) != 0 ? 1 : 0);
+        return exact ? score * 2 : score;
+    }
+
+    private void add(Long id, String name, String description) {
+        Map<String, Integer> fields = new HashMap<>();
+        tokenize(name).forEach(token -> fields.merge(token, NAME, (a, b) -> a | b));
+        tokenize(description).forEach(token -> fields.merge(token, DESCRIPTION, (a, b) -> a | b));
+        fields.forEach((token, mask) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(id, mask));
+        itemTokens.put(id, fields.keySet());
+    }
+
+    private void remove(Long id) {
+        Set<String> tokens = itemTokens.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, Integer> ids = postings.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+"))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
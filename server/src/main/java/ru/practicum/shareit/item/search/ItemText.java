@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.search;
+
+public interface ItemText {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
@@ -2,21 +2,45 @@ package ru.practicum.shareit.item.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.item.search.ItemText;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
     List<Item> findAllByOwnerId(Long userId);
 
+    @Query(" select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.request.id, i.owner.id, i.version) from Item i where i.id = ?1")
+    Optional<ItemDto> findItemDtoById(Long id);
+
     @Query(" select i from Item i " +
             "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
             " or upper(i.description) like upper(concat('%', ?1, '%')))" +
             " and i.available = true")
     List<Item> search(String text);
 
+    @Query(value = "select concat_ws('-', i.version, " +
+            " (select concat_ws(':', count(*), coalesce(max(c.id), 0), coalesce(sum(u.version), 0)) " +
+            "  from comments c join users u on u.id = c.author_id where c.item_id = i.id), " +
+            " (select concat_ws(':', count(*), coalesce(sum(b.version), 0), coalesce(sum(u.version), 0), " +
+            "   coalesce(sum(case when b.end_date < :now then 1 else 0 end), 0), " +
+            "   coalesce(sum(case when b.start_date > :now then 1 else 0 end), 0)) " +
+            "  from bookings b join users u on u.id = b.booker_id where b.item_id = i.id)) " +
+            "from items i where i.id = :id", nativeQuery = true)
+    Optional<String> findItemValidator(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    List<ItemText> findAllByAvailableTrue();
+
+    @Query(" select i.id from Item i where i.id in ?1 and i.available = true")
+    List<Long> findAvailableIds(Collection<Long> ids);
+
     List<Item> findByRequestId(Long id);
 
-    List<Item> findAllByRequestIn(List<ItemRequest> requests);
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.storage;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchRepository {
+    List<Item> search(String text, int from, int size);
+
+    List<Item> searchSubstring(String text, int from, int size);
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.storage;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return entityManager.createQuery(" select i from Item i " +
+                        "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+                        " or upper(i.description) like upper(concat('%', ?1, '%')))" +
+                        " and i.available = true order by i.id", Item.class)
+                .setParameter(1, text)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> searchSubstring(String text, int from, int size) {
+        return entityManager.createNativeQuery("select * from items i " +
+                        "where i.is_available = true " +
+                        " and (i.name ilike '%' || :text || '%' or i.description ilike '%' || :text || '%') " +
+                        "order by i.id", Item.class)
+                .setParameter("text", text)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+public class Cursors {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    public static ScrollPosition decode(String cursor, String timeProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            LocalDateTime time = LocalDateTime.parse(decoded.substring(0, separator));
+            Long id = Long.valueOf(decoded.substring(separator + 1));
+            return ScrollPosition.forward(Map.of(timeProperty, time, "id", id));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static String encode(ScrollPosition position, String timeProperty) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        String raw = keys.get(timeProperty) + SEPARATOR + keys.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScrollPosition offset(int from) {
+        if (from < 0) {
+            throw new BadRequestException("Invalid paging: from=" + from);
+        }
+        return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+    }
+
+    public static Limit limit(Integer size) {
+        if (size == null) {
+            return Limit.of(DEFAULT_SIZE);
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return Limit.of(size);
+    }
+
+    public static <T> CursorPage<T> toPage(Window<T> window, String timeProperty) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode(window.positionAt(window.size() - 1), timeProperty)
+                : null;
+        return new CursorPage<>(window.getContent(), nextCursor);
+    }
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.request;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.Cursors;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -30,14 +34,44 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get all requests");
-        return itemRequestService.getAllRequests(userId);
+    public ResponseEntity<List<ItemRequestDto>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(required = false) Integer from,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size,
+                                                               WebRequest request) {
+        log.info("Get all requests, from: {}, cursor: {}, size: {}", from, cursor, size);
+        if (from != null) {
+            if (request.checkNotModified(itemRequestService.getAllRequestsEtag(userId, from, size))) {
+                return null;
+            }
+            return ResponseEntity.ok(itemRequestService.getAllRequests(userId, from, size));
+        }
+        if (cursor == null && size == null) {
+            if (request.checkNotModified(itemRequestService.getAllRequestsEtag(userId))) {
+                return null;
+            }
+            return ResponseEntity.ok(itemRequestService.getAllRequests(userId));
+        }
+        if (request.checkNotModified(itemRequestService.getAllRequestsEtag(userId, cursor, size))) {
+            return null;
+        }
+        return toResponse(itemRequestService.getAllRequests(userId, cursor, size));
     }
 
     @GetMapping("/{id}")
-    public ItemRequestDto getRequest(@PathVariable Long id) {
+    public ItemRequestDto getRequest(@PathVariable Long id, WebRequest request) {
         log.info("Get request: {}", id);
+        if (request.checkNotModified(itemRequestService.getRequestEtag(id))) {
+            return null;
+        }
         return itemRequestService.getRequest(id);
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<List<ItemRequestDto>> toResponse(CursorPage<ItemRequestDto> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(Cursors.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+}
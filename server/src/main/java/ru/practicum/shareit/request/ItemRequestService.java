@@ -1,11 +1,17 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.Cursors;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -14,8 +20,10 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,15 +48,47 @@ public class ItemRequestService {
     }
 
     public List<ItemRequestDto> getRequests(Long userId) {
-        List<ItemRequest> requests = repository.findAllByRequestorIdOrderByCreatedDesc(userId);
-        Map<Long, List<ItemDto>> items = itemService.getItemsByRequests(requests).stream()
-                .collect(Collectors.groupingBy(ItemDto::getRequestId));
-
-        return requests.stream().map(itemRequest -> ItemRequestMapper.toItemRequestDto(itemRequest, items.get(itemRequest.getId()))).toList();
+        return withItems(repository.findAllByRequestorIdOrderByCreatedDesc(userId));
     }
 
     public List<ItemRequestDto> getAllRequests(Long userId) {
-        return repository.findAllByRequestorIdIsNotOrderByCreatedDesc(userId).stream().map(ItemRequestMapper::toItemRequestDto).toList();
+        return withItems(repository.findAllByRequestorIdIsNotOrderByCreatedDesc(userId));
+    }
+
+    public List<ItemRequestDto> getAllRequests(Long userId, int from, Integer size) {
+        Limit limit = Cursors.limit(size);
+        ScrollPosition position = Cursors.offset(from);
+        return withItems(repository.findAllByRequestorIdIsNotOrderByCreatedDescIdDesc(userId, position, limit).getContent());
+    }
+
+    public CursorPage<ItemRequestDto> getAllRequests(Long userId, String cursor, Integer size) {
+        ScrollPosition position = Cursors.decode(cursor, "created");
+        Limit limit = Cursors.limit(size);
+        Window<ItemRequest> window = repository.findAllByRequestorIdIsNotOrderByCreatedDescIdDesc(userId, position, limit);
+        CursorPage<ItemRequest> page = Cursors.toPage(window, "created");
+        return new CursorPage<>(withItems(page.getItems()), page.getNextCursor());
+    }
+
+    public String getRequestEtag(Long id) {
+        return repository.findRequestValidator(id).orElse(null);
+    }
+
+    public String getAllRequestsEtag(Long userId) {
+        return repository.findAllRequestsValidator(userId) + "-" + userId;
+    }
+
+    public String getAllRequestsEtag(Long userId, int from, Integer size) {
+        Cursors.offset(from);
+        return repository.findRequestPageValidator(userId, from, Cursors.limit(size).max()) + "-" + userId;
+    }
+
+    public String getAllRequestsEtag(Long userId, String cursor, Integer size) {
+        Map<String, Object> keys = ((KeysetScrollPosition) Cursors.decode(cursor, "created")).getKeys();
+        int limit = Cursors.limit(size).max() + 1;
+        String validator = keys.isEmpty()
+                ? repository.findRequestPageValidator(userId, 0, limit)
+                : repository.findRequestPageValidatorAfter(userId, (LocalDateTime) keys.get("created"), (Long) keys.get("id"), limit);
+        return validator + "-" + userId;
     }
 
     public ItemRequestDto getRequest(Long id) {
@@ -56,4 +96,21 @@ public class ItemRequestService {
         List<ItemDto> items = itemService.getItemsByRequestId(id);
         return ItemRequestMapper.toItemRequestDto(request, items);
     }
-}
\ No newline at end of file
+
+    public Map<Long, ItemRequest> getRequestsById(Collection<Long> ids) {
+        Map<Long, ItemRequest> requests = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        ids.stream().filter(id -> !requests.containsKey(id)).findFirst().ifPresent(id -> {
+            throw new NotFoundException("Request with id:" + id + " not found");
+        });
+        return requests;
+    }
+
+    private List<ItemRequestDto> withItems(List<ItemRequest> requests) {
+        Map<Long, List<ItemDto>> items = itemService.getItemsByRequests(requests).stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return requests.stream()
+                .map(itemRequest -> ItemRequestMapper.toItemRequestDto(itemRequest, items.getOrDefault(itemRequest.getId(), List.of())))
+                .toList();
+    }
+}
@@ -1,12 +1,51 @@
 package ru.practicum.shareit.request.storage;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(Long userId);
 
     List<ItemRequest> findAllByRequestorIdIsNotOrderByCreatedDesc(Long userId);
+
+    Window<ItemRequest> findAllByRequestorIdIsNotOrderByCreatedDescIdDesc(Long userId, ScrollPosition position, Limit limit);
+
+    @Query(value = "select concat_ws('-', r.id, " +
+            " (select concat_ws(':', count(*), coalesce(max(i.id), 0), coalesce(sum(i.version), 0)) " +
+            "  from items i where i.request_id = r.id)) " +
+            "from requests r where r.id = :id", nativeQuery = true)
+    Optional<String> findRequestValidator(@Param("id") Long id);
+
+    @Query(value = "select concat_ws('-', count(*), coalesce(max(r.id), 0), " +
+            " (select concat_ws(':', count(*), coalesce(max(i.id), 0), coalesce(sum(i.version), 0)) " +
+            "  from items i join requests ir on ir.id = i.request_id where ir.requestor_id <> :userId)) " +
+            "from requests r where r.requestor_id <> :userId", nativeQuery = true)
+    String findAllRequestsValidator(@Param("userId") Long userId);
+
+    @Query(value = "with page as (select r.id from requests r where r.requestor_id <> :userId " +
+            " order by r.created desc, r.id desc offset :from rows fetch first :size rows only) " +
+            "select concat_ws('-', " +
+            " (select concat_ws(':', count(*), coalesce(min(p.id), 0), coalesce(max(p.id), 0), coalesce(sum(p.id), 0)) from page p), " +
+            " (select concat_ws(':', count(*), coalesce(max(i.id), 0), coalesce(sum(i.version), 0)) " +
+            "  from items i where i.request_id in (select p.id from page p)))", nativeQuery = true)
+    String findRequestPageValidator(@Param("userId") Long userId, @Param("from") int from, @Param("size") int size);
+
+    @Query(value = "with page as (select r.id from requests r where r.requestor_id <> :userId " +
+            " and (r.created < :created or (r.created = :created and r.id < :id)) " +
+            " order by r.created desc, r.id desc fetch first :size rows only) " +
+            "select concat_ws('-', " +
+            " (select concat_ws(':', count(*), coalesce(min(p.id), 0), coalesce(max(p.id), 0), coalesce(sum(p.id), 0)) from page p), " +
+            " (select concat_ws(':', count(*), coalesce(max(i.id), 0), coalesce(sum(i.version), 0)) " +
+            "  from items i where i.request_id in (select p.id from page p)))", nativeQuery = true)
+    String findRequestPageValidatorAfter(@Param("userId") Long userId, @Param("created") LocalDateTime created,
+                                         @Param("id") Long id, @Param("size") int size);
 }
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.sql;
+
+import java.util.concurrent.TimeUnit;
+
+public class SqlStatistics {
+    private static final ThreadLocal<Counter> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new Counter());
+    }
+
+    public static Snapshot current() {
+        Counter counter = CURRENT.get();
+        return counter == null ? new Snapshot(0, 0) : new Snapshot(counter.statements, counter.nanos);
+    }
+
+    public static Snapshot stop() {
+        Snapshot snapshot = current();
+        CURRENT.remove();
+        return snapshot;
+    }
+
+    static void record(long nanos) {
+        Counter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+            counter.nanos += nanos;
+        }
+    }
+
+    public record Snapshot(int statements, long nanos) {
+        public long millis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+
+    private static class Counter {
+        private int statements;
+        private long nanos;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeaders;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, boolean exposeHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!exposeHeaders) {
+            SqlStatistics.start();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, SqlStatistics.stop());
+            }
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        SqlStatistics.start();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            SqlStatistics.Snapshot snapshot = SqlStatistics.stop();
+            record(request, snapshot);
+            wrapper.setHeader(STATEMENTS_HEADER, String.valueOf(snapshot.statements()));
+            wrapper.setHeader(TIME_HEADER, String.valueOf(snapshot.millis()));
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics.Snapshot snapshot) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("shareit.sql.statements")
+                .description("JDBC statements executed while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(snapshot.statements());
+        Timer.builder("shareit.sql.time")
+                .description("Time spent in JDBC statements while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(snapshot.nanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
@@ -15,6 +17,8 @@ import java.util.Optional;
 @Service
 @Transactional(readOnly = true)
 public class UserService {
+    public static final String USERS_CACHE = "users";
+
     private final UserRepository repository;
 
     @Autowired
@@ -29,12 +33,14 @@ public class UserService {
         return UserMapper.toUserDto(user);
     }
 
+    @Cacheable(USERS_CACHE)
     public UserDto getUserById(long id) {
         Optional<User> user = repository.findById(id);
         return UserMapper.toUserDto(user.orElseThrow(() -> new NotFoundException("User with id:" + id + " not found")));
     }
 
     @Transactional
+    @CacheEvict(value = USERS_CACHE, key = "#id")
     public UserDto updateUser(Long id, UserDto userDto) {
         User userToUpdate = repository.findById(id).orElseThrow(() -> new NotFoundException("User with id:" + id + " not found"));
         if (userDto.getEmail() != null) {
@@ -57,6 +63,7 @@ public class UserService {
     }
 
     @Transactional
+    @CacheEvict(USERS_CACHE)
     public void deleteUserById(Long id) {
         repository.deleteById(id);
     }
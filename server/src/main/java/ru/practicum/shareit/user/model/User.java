@@ -6,7 +6,6 @@ import lombok.*;
 @Entity
 @Table(name = "users")
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
 @ToString
@@ -18,4 +17,13 @@ public class User {
     private String email;
     @Column(nullable = false)
     private String name;
+    // primitive, so mapper-built references (id set, version 0) still count as detached rather than transient
+    @Version
+    private long version;
+
+    public User(Long id, String email, String name) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+    }
 }
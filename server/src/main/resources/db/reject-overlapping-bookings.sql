@@ -0,0 +1,25 @@
+-- Operator-run clean-up before ex_bookings_item_period can be added; not part of spring.sql.init.
+-- Rejects every non-rejected booking that overlaps another one of the same item: per item,
+-- APPROVED bookings win over WAITING ones and, within the same status, the earliest created
+-- (lowest id) wins; each rejected booking is reported as a NOTICE.
+--
+--   psql -v ON_ERROR_STOP=1 -1 -f reject-overlapping-bookings.sql shareit
+DO 'DECLARE
+    b RECORD;
+BEGIN
+    LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE;
+    FOR b IN SELECT id, item_id, start_date, end_date, status FROM bookings
+             WHERE status <> ''REJECTED''
+             ORDER BY item_id, status <> ''APPROVED'', id LOOP
+        IF EXISTS (SELECT 1 FROM bookings kept
+                   WHERE kept.item_id = b.item_id
+                     AND kept.id <> b.id
+                     AND kept.status <> ''REJECTED''
+                     AND (kept.status = ''APPROVED'') >= (b.status = ''APPROVED'')
+                     AND ((kept.status = ''APPROVED'') > (b.status = ''APPROVED'') OR kept.id < b.id)
+                     AND tsrange(kept.start_date, kept.end_date) && tsrange(b.start_date, b.end_date)) THEN
+            UPDATE bookings SET status = ''REJECTED'', version = version + 1 WHERE id = b.id;
+            RAISE NOTICE ''Rejected booking % overlapping an earlier booking of item %'', b.id, b.item_id;
+        END IF;
+    END LOOP;
+END';
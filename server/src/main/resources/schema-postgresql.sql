@@ -0,0 +1,40 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (description gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- One-time migration for ex_bookings_item_period, skipped once the constraint exists.
+-- Startup never changes bookings: if non-rejected bookings of the same item already overlap,
+-- it fails listing them. Run db/reject-overlapping-bookings.sql (or resolve them by hand) first.
+DO 'DECLARE
+    overlaps TEXT;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conname = ''ex_bookings_item_period'' AND conrelid = ''bookings''::regclass) THEN
+        LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE;
+        SELECT string_agg(format(''item %s: bookings %s and %s'', a.item_id, a.id, b.id), ''; '' ORDER BY a.item_id, a.id, b.id)
+        INTO overlaps
+        FROM bookings a
+        JOIN bookings b ON b.item_id = a.item_id AND b.id > a.id
+        WHERE a.status <> ''REJECTED'' AND b.status <> ''REJECTED''
+          AND tsrange(a.start_date, a.end_date) && tsrange(b.start_date, b.end_date);
+        IF overlaps IS NOT NULL THEN
+            RAISE EXCEPTION ''Cannot add ex_bookings_item_period, overlapping bookings exist: %'', overlaps
+                USING HINT = ''Reject the conflicting bookings, e.g. with db/reject-overlapping-bookings.sql, and restart.'';
+        END IF;
+        ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+            WHERE (status <> ''REJECTED'');
+    END IF;
+END';
+
+DO 'BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = ''items'' AND column_name = ''id'' AND is_identity = ''YES'') THEN
+        ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+        ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval(''items_seq'');
+        PERFORM setval(''items_seq'', COALESCE((SELECT MAX(id) FROM items), 0) + 1, false);
+    END IF;
+END';
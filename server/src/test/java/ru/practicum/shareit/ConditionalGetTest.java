@@ -0,0 +1,181 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingSaveDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursors;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.sql.SqlStatisticsFilter;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private UserDto owner;
+    private UserDto booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.createUser(new UserDto(null, "etag@mail.it", "etag"));
+        booker = userService.createUser(new UserDto(null, "booker@mail.it", "booker"));
+    }
+
+    @Test
+    void getItemNotModifiedWithoutLoadingIt() throws Exception {
+        ItemDto item = itemService.createItem(owner.getId(), new ItemDto(null, "item", "descr", true, null, null, null));
+
+        String etag = etag(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId()));
+        assertThat(etag, not(startsWith("W/")));
+
+        mvc.perform(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"));
+
+        itemService.updateItem(owner.getId(), item.getId(), new ItemDto(null, "renamed", null, null, null, null, null));
+        mvc.perform(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void getItemModifiedByBookingAndBooker() throws Exception {
+        ItemDto item = itemService.createItem(owner.getId(), new ItemDto(null, "item", "descr", true, null, null, null));
+        String etag = etag(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId()));
+        assertThat(etag(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", booker.getId())), not(etag));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(booker.getId(), new BookingSaveDto(null, start, start.plusHours(1), item.getId()));
+        String booked = etag(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId()));
+        assertThat(booked, not(etag));
+
+        userService.updateUser(booker.getId(), new UserDto(null, null, "renamed"));
+        assertThat(etag(get("/items/{id}", item.getId()).header("X-Sharer-User-Id", owner.getId())), not(booked));
+    }
+
+    @Test
+    void getRequestNotModifiedUntilAnswered() throws Exception {
+        ItemRequestDto request = itemRequestService.createRequest(
+                new ItemRequestDto(null, "need item", null, null, List.of()), booker.getId());
+        String etag = etag(get("/requests/{id}", request.getId()));
+
+        mvc.perform(get("/requests/{id}", request.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"));
+
+        itemService.createItem(owner.getId(), new ItemDto(null, "item", "descr", true, request.getId(), null, null));
+        mvc.perform(get("/requests/{id}", request.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void getAllRequestsNotModifiedUntilNewRequest() throws Exception {
+        itemRequestService.createRequest(new ItemRequestDto(null, "need item", null, null, List.of()), booker.getId());
+        String etag = etag(get("/requests/all").param("size", "10").header("X-Sharer-User-Id", owner.getId()));
+
+        mvc.perform(get("/requests/all").param("size", "10").header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"));
+
+        itemRequestService.createRequest(new ItemRequestDto(null, "need more", null, null, List.of()), booker.getId());
+        String changed = etag(get("/requests/all").param("size", "10").header("X-Sharer-User-Id", owner.getId()));
+        assertThat(changed, not(etag));
+        assertThat(etag(get("/requests/all").param("size", "10").header("X-Sharer-User-Id", owner.getId())),
+                equalTo(changed));
+    }
+
+    @Test
+    void getAllRequestsOffsetPageNotModifiedUntilShifted() throws Exception {
+        itemRequestService.createRequest(new ItemRequestDto(null, "first", null, null, List.of()), booker.getId());
+        ItemRequestDto second = itemRequestService.createRequest(
+                new ItemRequestDto(null, "second", null, null, List.of()), booker.getId());
+        MockHttpServletRequestBuilder page = get("/requests/all").param("from", "1").param("size", "1")
+                .header("X-Sharer-User-Id", owner.getId());
+        String etag = etag(page);
+
+        mvc.perform(page.header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"));
+
+        itemService.createItem(owner.getId(), new ItemDto(null, "item", "descr", true, second.getId(), null, null));
+        assertThat(etag(get("/requests/all").param("from", "1").param("size", "1")
+                .header("X-Sharer-User-Id", owner.getId())), equalTo(etag));
+
+        itemRequestService.createRequest(new ItemRequestDto(null, "third", null, null, List.of()), booker.getId());
+        assertThat(etag(get("/requests/all").param("from", "1").param("size", "1")
+                .header("X-Sharer-User-Id", owner.getId())), not(etag));
+    }
+
+    @Test
+    void getAllRequestsCursorPageKeepsEtagWhenNewerRequestArrives() throws Exception {
+        itemRequestService.createRequest(new ItemRequestDto(null, "first", null, null, List.of()), booker.getId());
+        itemRequestService.createRequest(new ItemRequestDto(null, "second", null, null, List.of()), booker.getId());
+        String cursor = mvc.perform(get("/requests/all").param("size", "1").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(Cursors.NEXT_CURSOR_HEADER);
+        assertThat(cursor, notNullValue());
+        String first = etag(get("/requests/all").param("size", "1").header("X-Sharer-User-Id", owner.getId()));
+        String next = etag(get("/requests/all").param("cursor", cursor).param("size", "1")
+                .header("X-Sharer-User-Id", owner.getId()));
+
+        itemRequestService.createRequest(new ItemRequestDto(null, "third", null, null, List.of()), booker.getId());
+
+        assertThat(etag(get("/requests/all").param("size", "1").header("X-Sharer-User-Id", owner.getId())), not(first));
+        mvc.perform(get("/requests/all").param("cursor", cursor).param("size", "1")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, next))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"));
+    }
+
+    private String etag(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = mvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag, notNullValue());
+        return etag;
+    }
+}
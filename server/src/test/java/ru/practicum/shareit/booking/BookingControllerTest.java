@@ -7,13 +7,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enm.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -24,6 +27,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,7 +52,7 @@ class BookingControllerTest {
                 "john.doe@mail.com",
                 "John");
         ItemDto itemDto = new ItemDto(1L, "name", "description",
-                true, null, 1L);
+                true, null, 1L, null);
         bookingDto = new BookingDto(
                 1L,
                 LocalDateTime.now(), LocalDateTime.now().plusHours(1),
@@ -83,6 +87,17 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(bookingDto.getStatus().toString())));
     }
 
+    @Test
+    void approveBookingConcurrentlyModified() throws Exception {
+        when(bookingService.approveBooking(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+        mvc.perform(patch("/bookings/{id}", 1L).param("approved", "true").header(header, 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void getBooking() throws Exception {
         when(bookingService.getBooking(anyLong(), anyLong())).thenReturn(bookingDto);
@@ -118,6 +133,27 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())));
     }
 
+    @Test
+    void getBookingsPage() throws Exception {
+        when(bookingService.getBookings(anyLong(), any(), any(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "next"));
+        mvc.perform(get("/bookings").param("size", "1").header(header, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void getOwnerBookingsLastPage() throws Exception {
+        when(bookingService.getBookingsByOwner(anyLong(), any(), anyString(), any()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), null));
+        mvc.perform(get("/bookings/owner").param("cursor", "abc").header(header, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.size()", is(1)));
+    }
+
     @Test
     void getBookingNotFoundException() throws Exception {
         when(bookingService.getBooking(anyLong(), anyLong()))
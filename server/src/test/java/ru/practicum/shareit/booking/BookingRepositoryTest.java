@@ -1,20 +1,32 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import ru.practicum.shareit.booking.enm.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 
 @DataJpaTest
 class BookingRepositoryTest {
@@ -24,11 +36,14 @@ class BookingRepositoryTest {
     @Autowired
     private TestEntityManager em;
 
+    @Autowired
+    private CapturingStatementInspector statementInspector;
+
     @Test
     void findByBookerIdAndStatus() {
         User user = new User(null, "mail@du.tu", "name");
-        Item item = new Item(null, "item", "item descr", true, user, null);
-        Booking booking = new Booking(null, LocalDateTime.now(), LocalDateTime.now().plusMinutes(10), item, user, BookingStatus.WAITING);
+        Item item = new Item(null, "item", "item descr", true, user, null, null);
+        Booking booking = new Booking(null, LocalDateTime.now(), LocalDateTime.now().plusMinutes(10), item, user, BookingStatus.WAITING, null);
         em.persist(user);
         em.persist(item);
         em.persist(booking);
@@ -38,4 +53,140 @@ class BookingRepositoryTest {
         assertThat(bookings.size(), equalTo(1));
         assertThat(bookings.getFirst(), equalTo(booking));
     }
+
+    @Test
+    void findLastAndNextByItemIds() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item item = new Item(null, "item", "item descr", true, user, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        Booking oldest = new Booking(null, now.minusDays(3), now.minusDays(2), item, user, BookingStatus.APPROVED, null);
+        Booking last = new Booking(null, now.minusDays(2), now.minusDays(1), item, user, BookingStatus.APPROVED, null);
+        Booking next = new Booking(null, now.plusDays(1), now.plusDays(2), item, user, BookingStatus.WAITING, null);
+        Booking latest = new Booking(null, now.plusDays(2), now.plusDays(3), item, user, BookingStatus.WAITING, null);
+        em.persist(user);
+        em.persist(item);
+        em.persist(oldest);
+        em.persist(last);
+        em.persist(next);
+        em.persist(latest);
+        em.flush();
+
+        List<Booking> bookings = bookingRepository.findLastAndNextByItemIds(List.of(item.getId()), now);
+        assertThat(bookings.size(), equalTo(2));
+        assertThat(bookings.contains(last), equalTo(true));
+        assertThat(bookings.contains(next), equalTo(true));
+    }
+
+    @Test
+    void findCurrentByBookerId() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item item = new Item(null, "item", "item descr", true, user, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        Booking current = new Booking(null, now.minusMinutes(5), now.plusMinutes(5), item, user, BookingStatus.APPROVED, null);
+        Booking past = new Booking(null, now.minusMinutes(10), now.minusMinutes(5), item, user, BookingStatus.APPROVED, null);
+        Booking future = new Booking(null, now.plusMinutes(5), now.plusMinutes(10), item, user, BookingStatus.APPROVED, null);
+        em.persist(user);
+        em.persist(item);
+        em.persist(current);
+        em.persist(past);
+        em.persist(future);
+        em.flush();
+
+        List<Booking> bookings = bookingRepository.findByBooker_IdAndStartLessThanEqualAndEndIsAfterOrderByStartDesc(user.getId(), now, now);
+        assertThat(bookings.size(), equalTo(1));
+        assertThat(bookings.getFirst(), equalTo(current));
+    }
+
+    @Test
+    void findPreviousByItemIdSkipsRejected() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item item = new Item(null, "item", "item descr", true, user, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        Booking approved = new Booking(null, now.minusDays(3), now.minusDays(1), item, user, BookingStatus.APPROVED, null);
+        Booking rejected = new Booking(null, now.minusDays(2), now.plusDays(2), item, user, BookingStatus.REJECTED, null);
+        Booking future = new Booking(null, now.plusDays(5), now.plusDays(6), item, user, BookingStatus.WAITING, null);
+        em.persist(user);
+        em.persist(item);
+        em.persist(approved);
+        em.persist(rejected);
+        em.persist(future);
+        em.flush();
+
+        Optional<Booking> previous = bookingRepository.findFirstByItem_IdAndStatusNotAndStartBeforeOrderByStartDesc(
+                item.getId(), BookingStatus.REJECTED, now.plusDays(3));
+        assertThat(previous.orElseThrow(), equalTo(approved));
+    }
+
+    @Test
+    void previousByItemUsesIndex() {
+        String plan = explain(() -> bookingRepository.findFirstByItem_IdAndStatusNotAndStartBeforeOrderByStartDesc(
+                1L, BookingStatus.REJECTED, LocalDateTime.now()));
+        assertThat(plan, containsString("IDX_BOOKINGS_ITEM_START_END"));
+    }
+
+    @Test
+    void currentByBookerUsesIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        String plan = explain(() -> bookingRepository.findByBooker_IdAndStartLessThanEqualAndEndIsAfterOrderByStartDesc(
+                1L, now, now));
+        assertThat(plan, containsString("IDX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void currentByOwnerUsesIndex() {
+        User owner = em.persistFlushFind(new User(null, "mail@du.tu", "name"));
+        LocalDateTime now = LocalDateTime.now();
+        String plan = explain(() -> bookingRepository.findBookingsByItemOwnerAndStartLessThanEqualAndEndIsAfterOrderByStartDesc(
+                owner, now, now));
+        assertThat(plan, containsString("IDX_BOOKINGS_ITEM_START_END"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    private String explain(Runnable query) {
+        em.clear();
+        statementInspector.clear();
+        query.run();
+        String sql = statementInspector.getStatements().stream()
+                .filter(statement -> statement.contains("bookings"))
+                .findFirst()
+                .orElseThrow();
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    static class CapturingStatementInspector implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> getStatements() {
+            return statements;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        CapturingStatementInspector statementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector statementInspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+        }
+    }
 }
@@ -2,31 +2,46 @@ package ru.practicum.shareit.booking;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingSaveDto;
 import ru.practicum.shareit.booking.enm.BookingState;
 import ru.practicum.shareit.booking.enm.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 
 @Transactional
 @SpringBootTest
@@ -43,6 +58,12 @@ class BookingServiceTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private BookingRepository repository;
+
     private BookingSaveDto bookingSaveDto;
     private UserDto userDto;
     private ItemDto itemDto;
@@ -52,7 +73,7 @@ class BookingServiceTest {
     void setUp() {
         userDto = userService.createUser(new UserDto(null, "mail@du.tu", "name"));
         itemDto = itemService.createItem(userDto.getId(), new ItemDto(null, "item", "item descr",
-                true, null, userDto.getId()));
+                true, null, userDto.getId(), null));
         bookingSaveDto = new BookingSaveDto(null, LocalDateTime.now().plusMinutes(1), LocalDateTime.now().plusMinutes(10),
                 itemDto.getId());
     }
@@ -69,6 +90,23 @@ class BookingServiceTest {
         assertThat(booking.getStatus(), equalTo(BookingStatus.WAITING));
     }
 
+    @Test
+    void createBookingByOtherUser() {
+        UserDto booker = userService.createUser(new UserDto(null, "booker@du.tu", "booker"));
+        BookingDto bookingDto = service.createBooking(booker.getId(), bookingSaveDto);
+
+        assertThat(bookingDto.getItem().getId(), equalTo(itemDto.getId()));
+        assertThat(bookingDto.getItem().getName(), equalTo(itemDto.getName()));
+        assertThat(bookingDto.getItem().getOwnerId(), equalTo(userDto.getId()));
+        assertThat(bookingDto.getBooker().getId(), equalTo(booker.getId()));
+    }
+
+    @Test
+    void createBookingItemNotFound() {
+        bookingSaveDto.setItemId(99L);
+        assertThrows(NotFoundException.class, () -> service.createBooking(userDto.getId(), bookingSaveDto));
+    }
+
     @Test
     void createBookingExceptionStart() {
         bookingSaveDto.setEnd(LocalDateTime.now().minusMinutes(10));
@@ -88,6 +126,58 @@ class BookingServiceTest {
         assertThrows(BadRequestException.class, () -> service.createBooking(userDto.getId(), bookingSaveDto));
     }
 
+    @Test
+    void createBookingOverlapping() {
+        service.createBooking(userDto.getId(), bookingSaveDto);
+        UserDto booker = userService.createUser(new UserDto(null, "booker@du.tu", "booker"));
+        BookingSaveDto overlapping = new BookingSaveDto(null, bookingSaveDto.getStart().plusMinutes(5),
+                bookingSaveDto.getEnd().plusMinutes(5), itemDto.getId());
+
+        assertThrows(ConflictException.class, () -> service.createBooking(booker.getId(), overlapping));
+    }
+
+    @Test
+    void createBookingCoveringExisting() {
+        service.createBooking(userDto.getId(), bookingSaveDto);
+        BookingSaveDto covering = new BookingSaveDto(null, bookingSaveDto.getStart().minusMinutes(30),
+                bookingSaveDto.getEnd().plusMinutes(30), itemDto.getId());
+
+        assertThrows(ConflictException.class, () -> service.createBooking(userDto.getId(), covering));
+    }
+
+    @Test
+    void createBookingAdjacent() {
+        service.createBooking(userDto.getId(), bookingSaveDto);
+        BookingSaveDto adjacent = new BookingSaveDto(null, bookingSaveDto.getEnd(),
+                bookingSaveDto.getEnd().plusMinutes(10), itemDto.getId());
+
+        assertThat(service.createBooking(userDto.getId(), adjacent).getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void createBookingOverRejected() {
+        Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+        service.approveBooking(userDto.getId(), id, false);
+
+        assertThat(service.createBooking(userDto.getId(), bookingSaveDto).getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void createBookingExclusionViolation() {
+        doThrow(new DataIntegrityViolationException("overlap", new SQLException("conflicting key value", "23P01")))
+                .when(repository).save(any(Booking.class));
+
+        assertThrows(ConflictException.class, () -> service.createBooking(userDto.getId(), bookingSaveDto));
+    }
+
+    @Test
+    void createBookingOtherIntegrityViolation() {
+        doThrow(new DataIntegrityViolationException("fk", new SQLException("foreign key violation", "23503")))
+                .when(repository).save(any(Booking.class));
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.createBooking(userDto.getId(), bookingSaveDto));
+    }
+
     @Test
     void getBooking() {
         Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
@@ -129,6 +219,15 @@ class BookingServiceTest {
         assertThrows(ForbiddenException.class, () -> service.approveBooking(99L, id, true));
     }
 
+    @Test
+    void approveBookingAlreadyDecided() {
+        Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+        service.approveBooking(userDto.getId(), id, false);
+
+        assertThrows(ConflictException.class, () -> service.approveBooking(userDto.getId(), id, true));
+        assertThat(service.getBooking(userDto.getId(), id).getStatus(), equalTo(BookingStatus.REJECTED));
+    }
+
     @Test
     void getBookings() {
         Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
@@ -193,6 +292,50 @@ class BookingServiceTest {
         assertThat(bookingDtoS.getFirst().getStatus(), equalTo(BookingStatus.WAITING));
     }
 
+    @Test
+    void getBookingsByStateCurrent() {
+        bookingSaveDto.setStart(LocalDateTime.now().minusMinutes(1));
+        Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+        bookingSaveDto.setStart(LocalDateTime.now().plusMinutes(15));
+        bookingSaveDto.setEnd(LocalDateTime.now().plusMinutes(20));
+        service.createBooking(userDto.getId(), bookingSaveDto);
+
+        List<BookingDto> bookingDtoS = service.getBookings(userDto.getId(), Optional.of(BookingState.CURRENT));
+        assertThat(bookingDtoS.size(), equalTo(1));
+        assertThat(bookingDtoS.getFirst().getId(), equalTo(id));
+        assertThat(bookingDtoS.getFirst().getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void getBookingsByOwnerCurrentNotStarted() {
+        Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+        service.approveBooking(userDto.getId(), id, true);
+
+        List<BookingDto> bookingDtoS = service.getBookingsByOwner(userDto.getId(), Optional.of(BookingState.CURRENT));
+        assertThat(bookingDtoS.size(), equalTo(0));
+    }
+
+    @Test
+    void getBookingsByStateCurrentIgnoresStatus() {
+        bookingSaveDto.setStart(LocalDateTime.now().minusMinutes(1));
+        Long rejected = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+        service.approveBooking(userDto.getId(), rejected, false);
+        Long waiting = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+
+        List<Long> booked = service.getBookings(userDto.getId(), Optional.of(BookingState.CURRENT))
+                .stream().map(BookingDto::getId).toList();
+        List<Long> owned = service.getBookingsByOwner(userDto.getId(), Optional.of(BookingState.CURRENT))
+                .stream().map(BookingDto::getId).toList();
+        List<Long> bookedPage = service.getBookings(userDto.getId(), Optional.of(BookingState.CURRENT), null, 10)
+                .getItems().stream().map(BookingDto::getId).toList();
+        List<Long> ownedPage = service.getBookingsByOwner(userDto.getId(), Optional.of(BookingState.CURRENT), null, 10)
+                .getItems().stream().map(BookingDto::getId).toList();
+        assertThat(booked, containsInAnyOrder(rejected, waiting));
+        assertThat(owned, containsInAnyOrder(rejected, waiting));
+        assertThat(bookedPage, containsInAnyOrder(rejected, waiting));
+        assertThat(ownedPage, containsInAnyOrder(rejected, waiting));
+    }
+
     @Test
     void getBookingsByOwner() {
         Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
@@ -207,6 +350,7 @@ class BookingServiceTest {
 
     @Test
     void getBookingsByOwnerCurrent() {
+        bookingSaveDto.setStart(LocalDateTime.now().minusMinutes(1));
         Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
         service.approveBooking(userDto.getId(), id, true);
 
@@ -257,4 +401,82 @@ class BookingServiceTest {
         assertThat(bookingDtoS.getFirst().getBooker().getId(), equalTo(userDto.getId()));
         assertThat(bookingDtoS.getFirst().getStatus(), equalTo(BookingStatus.WAITING));
     }
+
+    @Test
+    void getBookingsPaged() {
+        bookingSaveDto.setStart(bookingSaveDto.getStart().truncatedTo(ChronoUnit.MICROS));
+        bookingSaveDto.setEnd(bookingSaveDto.getEnd().truncatedTo(ChronoUnit.MICROS));
+        Long first = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+        bookingSaveDto.setStart(bookingSaveDto.getEnd());
+        bookingSaveDto.setEnd(bookingSaveDto.getStart().plusMinutes(10));
+        Long second = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+
+        CursorPage<BookingDto> page = service.getBookings(userDto.getId(), Optional.empty(), null, 1);
+        assertThat(page.getItems().size(), equalTo(1));
+        assertThat(page.getItems().getFirst().getId(), equalTo(second));
+        assertThat(page.getNextCursor() != null, equalTo(true));
+
+        CursorPage<BookingDto> next = service.getBookings(userDto.getId(), Optional.empty(), page.getNextCursor(), 1);
+        assertThat(next.getItems().size(), equalTo(1));
+        assertThat(next.getItems().getFirst().getId(), equalTo(first));
+        assertThat(next.getNextCursor(), equalTo(null));
+    }
+
+    @Test
+    void getBookingsByOwnerPaged() {
+        Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+
+        CursorPage<BookingDto> page = service.getBookingsByOwner(userDto.getId(), Optional.of(BookingState.WAITING), null, 10);
+        assertThat(page.getItems().size(), equalTo(1));
+        assertThat(page.getItems().getFirst().getId(), equalTo(id));
+        assertThat(page.getNextCursor(), equalTo(null));
+    }
+
+    @Test
+    void getBookingsPagedInvalidCursor() {
+        assertThrows(BadRequestException.class,
+                () -> service.getBookings(userDto.getId(), Optional.empty(), "not-a-cursor", 10));
+    }
+
+    @Test
+    void getBookingsPagedInvalidSize() {
+        assertThrows(BadRequestException.class,
+                () -> service.getBookings(userDto.getId(), Optional.empty(), null, 0));
+    }
+
+    @Test
+    void getBookingListsQueryCount() {
+        for (int i = 0; i < 3; i++) {
+            UserDto booker = userService.createUser(new UserDto(null, "booker" + i + "@du.tu", "booker"));
+            ItemDto item = itemService.createItem(userDto.getId(), new ItemDto(null, "item" + i, "descr", true, null, null, null));
+            bookingSaveDto.setItemId(item.getId());
+            service.createBooking(booker.getId(), bookingSaveDto);
+        }
+        bookingSaveDto.setStart(bookingSaveDto.getEnd());
+        bookingSaveDto.setEnd(bookingSaveDto.getStart().plusMinutes(10));
+        Long id = service.createBooking(userDto.getId(), bookingSaveDto).getId();
+        Cache users = ((TransactionAwareCacheDecorator) cacheManager.getCache(UserService.USERS_CACHE)).getTargetCache();
+        users.put(userDto.getId(), userDto);
+        em.flush();
+        em.clear();
+
+        assertThat(countQueries(() -> service.getBookings(userDto.getId(), Optional.empty())), equalTo(1L));
+        assertThat(countQueries(() -> service.getBookingsByOwner(userDto.getId(), Optional.empty())), equalTo(1L));
+        assertThat(countQueries(() -> service.getBookingsByOwner(userDto.getId(), Optional.empty(), null, 2)), equalTo(1L));
+        assertThat(countQueries(() -> service.getBooking(userDto.getId(), id)), equalTo(1L));
+        users.evict(userDto.getId());
+    }
+
+    private long countQueries(Runnable action) {
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            action.run();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
 }
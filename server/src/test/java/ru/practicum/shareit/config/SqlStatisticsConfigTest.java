@@ -0,0 +1,157 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingSaveDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.sql.SqlStatisticsFilter;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatisticsConfigTest {
+    private static final int ITEMS = 3;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UserDto owner;
+    private UserDto booker;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.createUser(new UserDto(null, "owner@sql.it", "owner"));
+        booker = userService.createUser(new UserDto(null, "booker@sql.it", "booker"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < ITEMS; i++) {
+            ItemRequestDto request = itemRequestService.createRequest(
+                    new ItemRequestDto(null, "need item " + i, null, null, List.of()), booker.getId());
+            itemId = itemService.createItem(owner.getId(),
+                    new ItemDto(null, "item " + i, "descr " + i, true, request.getId(), null, null)).getId();
+            bookingService.createBooking(booker.getId(),
+                    new BookingSaveDto(null, start.plusDays(i), start.plusDays(i).plusHours(1), itemId));
+        }
+        em.flush();
+        em.clear();
+        users().put(owner.getId(), owner);
+        users().put(booker.getId(), booker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        users().evict(owner.getId());
+        users().evict(booker.getId());
+    }
+
+    @Test
+    void itemEndpointsWithinBudget() throws Exception {
+        mvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(3));
+        mvc.perform(get("/items/{id}", itemId).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(3));
+        mvc.perform(get("/items/search").param("text", "item"))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(1));
+    }
+
+    @Test
+    void bookingEndpointsWithinBudget() throws Exception {
+        mvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(1));
+        mvc.perform(get("/bookings").param("size", "2").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(1));
+        mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(1));
+    }
+
+    @Test
+    void requestEndpointsWithinBudget() throws Exception {
+        mvc.perform(get("/requests").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(2));
+        mvc.perform(get("/requests/all").param("size", "10").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(withinBudget(3));
+    }
+
+    @Test
+    void sqlMetersTaggedByUriPattern() throws Exception {
+        mvc.perform(get("/items/{id}", itemId).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("shareit.sql.statements").tag("uri", "/items/{id}").tag("method", "GET")
+                .summary().count(), greaterThanOrEqualTo(1L));
+        assertThat(meterRegistry.get("shareit.sql.time").tag("uri", "/items/{id}").tag("method", "GET")
+                .timer().count(), greaterThanOrEqualTo(1L));
+        assertThat(meterRegistry.find("http.server.requests.sql.statements").meters(), empty());
+    }
+
+    private Cache users() {
+        return ((TransactionAwareCacheDecorator) cacheManager.getCache(UserService.USERS_CACHE)).getTargetCache();
+    }
+
+    private static ResultMatcher withinBudget(int budget) {
+        return result -> {
+            String statements = result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER);
+            assertThat(statements, notNullValue());
+            assertThat("SQL statements for " + result.getRequest().getRequestURI(),
+                    Integer.parseInt(statements), lessThanOrEqualTo(budget));
+        };
+    }
+}
@@ -26,7 +26,7 @@ class CommentRepositoryTest {
     @Test
     void findAllByItemId() {
         User user = new User(null, "mail@du.tu", "name");
-        Item item = new Item(null, "item", "item descr", true, user, null);
+        Item item = new Item(null, "item", "item descr", true, user, null, null);
         Comment comment = new Comment(null, "text", item, user, LocalDateTime.now());
         em.persist(user);
         em.persist(item);
@@ -37,4 +37,23 @@ class CommentRepositoryTest {
         assertThat(comments.size(), equalTo(1));
         assertThat(comments.getFirst(), equalTo(comment));
     }
+
+    @Test
+    void findAllByItemIdIn() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item item = new Item(null, "item", "item descr", true, user, null, null);
+        Item other = new Item(null, "other", "other descr", true, user, null, null);
+        Comment comment = new Comment(null, "text", item, user, LocalDateTime.now());
+        Comment otherComment = new Comment(null, "other text", other, user, LocalDateTime.now());
+        em.persist(user);
+        em.persist(item);
+        em.persist(other);
+        em.persist(comment);
+        em.persist(otherComment);
+        em.flush();
+
+        List<Comment> comments = commentRepository.findAllByItem_IdInOrderByCreated(List.of(item.getId(), other.getId()));
+        assertThat(comments.size(), equalTo(2));
+        assertThat(comments.getFirst(), equalTo(comment));
+    }
 }
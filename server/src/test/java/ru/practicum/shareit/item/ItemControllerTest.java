@@ -43,9 +43,9 @@ class ItemControllerTest {
     @BeforeEach
     void setUp() {
         itemDto = new ItemDto(1L, "name", "description",
-                true, null, 1L);
+                true, null, 1L, null);
         itemAllDto = new ItemAllDto(1L, "name", "description",
-                true, null, 1L, null, null, null);
+                true, null, 1L, null, null, null, null);
         commentDto = new CommentDto(1L, "comment", 1L, "author", LocalDateTime.now());
     }
 
@@ -65,6 +65,20 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.ownerId", is(itemDto.getOwnerId()), Long.class));
     }
 
+    @Test
+    void importItems() throws Exception {
+        when(itemService.importItems(anyLong(), anyList())).thenReturn(List.of(itemDto));
+        mvc.perform(post("/items/import").header(header, 1)
+                        .content(mapper.writeValueAsString(List.of(itemDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].name", is(itemDto.getName())));
+    }
+
     @Test
     void updateItem() throws Exception {
         when(itemService.updateItem(anyLong(), anyLong(), any())).thenReturn(itemDto);
@@ -106,8 +120,8 @@ class ItemControllerTest {
 
     @Test
     void searchItems() throws Exception {
-        when(itemService.findItems(anyString())).thenReturn(List.of(itemDto));
-        mvc.perform(get("/items/search").header(header, 1).param("text", anyString()))
+        when(itemService.findItems(anyString(), anyInt(), anyInt())).thenReturn(List.of(itemDto));
+        mvc.perform(get("/items/search").header(header, 1).param("text", "text"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()", is(1)))
                 .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class))
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearch;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(properties = "shareit.item-search.engine=index")
+class ItemIndexSearchTest {
+
+    @Autowired
+    private ItemService service;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private InvertedIndexItemSearch itemSearch;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserDto userDto;
+
+    @BeforeEach
+    void setUp() {
+        userDto = userService.createUser(new UserDto(null, "index@du.tu", "name"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll(itemRepository.findAllByOwnerId(userDto.getId()));
+        userService.deleteUserById(userDto.getId());
+        itemSearch.rebuild();
+    }
+
+    @Test
+    void findItemsByPrefixRanked() {
+        Long described = service.createItem(userDto.getId(), new ItemDto(null, "tool", "cordless drill", true, null, null, null)).getId();
+        Long named = service.createItem(userDto.getId(), new ItemDto(null, "Drill", "power tool", true, null, null, null)).getId();
+
+        List<ItemDto> itemS = service.findItems("DRI");
+        assertThat(itemS.size(), equalTo(2));
+        assertThat(itemS.get(0).getId(), equalTo(named));
+        assertThat(itemS.get(1).getId(), equalTo(described));
+
+        List<ItemDto> page = service.findItems("dri", 1, 1);
+        assertThat(page.size(), equalTo(1));
+        assertThat(page.getFirst().getId(), equalTo(described));
+    }
+
+    @Test
+    void findItemsAfterUpdate() {
+        Long id = service.createItem(userDto.getId(), new ItemDto(null, "item", "item descr", true, null, null, null)).getId();
+        service.updateItem(userDto.getId(), id, ItemDto.builder().name("hammer").build());
+        assertThat(service.findItems("hammer").size(), equalTo(1));
+
+        service.updateItem(userDto.getId(), id, ItemDto.builder().available(false).build());
+        assertThat(service.findItems("hammer").size(), equalTo(0));
+    }
+
+    @Test
+    void findItemsFullPageWhenIndexIsStale() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(service.createItem(userDto.getId(), new ItemDto(null, "tent " + i, "tent", true, null, null, null)).getId());
+        }
+        Item withdrawn = itemRepository.findById(ids.getFirst()).orElseThrow();
+        withdrawn.setAvailable(false);
+        itemRepository.save(withdrawn);
+        assertThat(itemSearch.contains(withdrawn.getId()), equalTo(true));
+
+        assertThat(service.findItems("tent", 0, 2).stream().map(ItemDto::getId).toList(),
+                equalTo(List.of(ids.get(1), ids.get(2))));
+        assertThat(service.findItems("tent", 1, 1).stream().map(ItemDto::getId).toList(),
+                equalTo(List.of(ids.get(2))));
+    }
+
+    @Test
+    void findItemsIndexedAfterCommit() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            service.createItem(userDto.getId(), new ItemDto(null, "lantern", "camping lantern", true, null, null, null));
+            assertThat(service.findItems("lantern").size(), equalTo(0));
+        });
+
+        assertThat(service.findItems("lantern").size(), equalTo(1));
+    }
+
+    @Test
+    void findItemsNotReindexedAfterRollback() {
+        Long id = service.createItem(userDto.getId(), new ItemDto(null, "kayak", "kayak", true, null, null, null)).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            service.updateItem(userDto.getId(), id, ItemDto.builder().name("canoe").description("canoe").build());
+            status.setRollbackOnly();
+        });
+
+        assertThat(service.findItems("kayak").size(), equalTo(1));
+        assertThat(service.findItems("canoe").size(), equalTo(0));
+    }
+
+    @Test
+    void findItemsNotIndexedAfterImportRollback() {
+        List<Long> ids = new ArrayList<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            service.importItems(userDto.getId(), List.of(
+                    new ItemDto(null, "snowboard", "snowboard", true, null, null, null),
+                    new ItemDto(null, "skis", "snowboard boots", true, null, null, null)))
+                    .forEach(item -> ids.add(item.getId()));
+            status.setRollbackOnly();
+        });
+
+        assertThat(ids.size(), equalTo(2));
+        ids.forEach(id -> assertThat(itemSearch.contains(id), equalTo(false)));
+        assertThat(service.findItems("snowboard").size(), equalTo(0));
+    }
+}
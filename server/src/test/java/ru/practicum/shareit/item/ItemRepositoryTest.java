@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -13,7 +15,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 class ItemRepositoryTest {
@@ -26,7 +30,7 @@ class ItemRepositoryTest {
     @Test
     void search() {
         User user = new User(null, "mail@du.tu", "name");
-        Item item = new Item(null, "item", "item descr", true, user, null);
+        Item item = new Item(null, "item", "item descr", true, user, null, null);
         em.persist(user);
         em.persist(item);
         em.flush();
@@ -36,11 +40,90 @@ class ItemRepositoryTest {
         assertThat(items.getFirst(), equalTo(item));
     }
 
+    @Test
+    void saveStaleVersion() {
+        User user = new User(null, "mail@du.tu", "name");
+        em.persist(user);
+        Item stale = em.persistFlushFind(new Item(null, "item", "item descr", true, user, null, null));
+        em.detach(stale);
+
+        Item current = itemRepository.findById(stale.getId()).orElseThrow();
+        current.setName("updated");
+        itemRepository.saveAndFlush(current);
+        assertThat(current.getVersion(), equalTo(stale.getVersion() + 1));
+
+        stale.setName("stale");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    void searchPaged() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item first = new Item(null, "item", "item descr", true, user, null, null);
+        Item second = new Item(null, "other item", "descr", true, user, null, null);
+        Item third = new Item(null, "third item", "descr", true, user, null, null);
+        em.persist(user);
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+        em.flush();
+
+        List<Item> items = itemRepository.search("te", 1, 2);
+        assertThat(items, contains(second, third));
+    }
+
+    @Test
+    void searchSubstring() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item item = new Item(null, "Drill XK-200", "item descr", true, user, null, null);
+        Item unavailable = new Item(null, "Drill XK-300", "item descr", false, user, null, null);
+        em.persist(user);
+        em.persist(item);
+        em.persist(unavailable);
+        em.flush();
+
+        List<Item> items = itemRepository.searchSubstring("xk-2", 0, 10);
+        assertThat(items.size(), equalTo(1));
+        assertThat(items.getFirst(), equalTo(item));
+    }
+
+    @Test
+    void searchSubstringPaged() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item first = new Item(null, "Drill XK-200", "item descr", true, user, null, null);
+        Item second = new Item(null, "Drill XK-210", "item descr", true, user, null, null);
+        Item third = new Item(null, "Drill XK-220", "item descr", true, user, null, null);
+        em.persist(user);
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+        em.flush();
+
+        List<Item> items = itemRepository.searchSubstring("xk-2", 1, 2);
+        assertThat(items, contains(second, third));
+    }
+
+    @Test
+    void findItemDtoById() {
+        User user = new User(null, "mail@du.tu", "name");
+        Item item = new Item(null, "item", "item descr", false, user, null, null);
+        em.persist(user);
+        em.persist(item);
+        em.flush();
+
+        ItemDto itemDto = itemRepository.findItemDtoById(item.getId()).orElseThrow();
+        assertThat(itemDto.getId(), equalTo(item.getId()));
+        assertThat(itemDto.getName(), equalTo(item.getName()));
+        assertThat(itemDto.getAvailable(), equalTo(false));
+        assertThat(itemDto.getOwnerId(), equalTo(user.getId()));
+        assertThat(itemDto.getRequestId(), equalTo(null));
+    }
+
     @Test
     void findByRequestId() {
         User user = new User(null, "mail@du.tu", "name");
         ItemRequest request = new ItemRequest(null, "description", user, LocalDateTime.now());
-        Item item = new Item(null, "item", "item descr", true, user, request);
+        Item item = new Item(null, "item", "item descr", true, user, request, null);
         em.persist(user);
         em.persist(request);
         em.persist(item);
@@ -52,16 +135,16 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findAllByRequestIn() {
+    void findAllByRequestIdIn() {
         User user = new User(null, "mail@du.tu", "name");
         ItemRequest request = new ItemRequest(null, "description", user, LocalDateTime.now());
-        Item item = new Item(null, "item", "item descr", true, user, request);
+        Item item = new Item(null, "item", "item descr", true, user, request, null);
         em.persist(user);
         em.persist(request);
         em.persist(item);
         em.flush();
 
-        List<Item> items = itemRepository.findAllByRequestIn(List.of(request));
+        List<Item> items = itemRepository.findAllByRequestIdIn(List.of(request.getId()));
         assertThat(items.size(), equalTo(1));
         assertThat(items.getFirst(), equalTo(item));
     }
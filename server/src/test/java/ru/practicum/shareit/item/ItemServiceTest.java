@@ -7,24 +7,43 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentSaveDto;
 import ru.practicum.shareit.item.dto.ItemAllDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Transactional
@@ -40,16 +59,22 @@ class ItemServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @MockBean
     private BookingService bookingService;
 
+    @SpyBean
+    private ItemRepository itemRepository;
+
     private UserDto userDto;
     private ItemDto itemDto;
 
     @BeforeEach
     void setUp() {
         userDto = userService.createUser(new UserDto(null, "mail@du.tu", "name"));
-        itemDto = new ItemDto(null, "item", "item descr", true, null, userDto.getId());
+        itemDto = new ItemDto(null, "item", "item descr", true, null, userDto.getId(), null);
     }
 
     @Test
@@ -65,6 +90,18 @@ class ItemServiceTest {
         assertThat(item.getAvailable(), equalTo(itemDto.getAvailable()));
     }
 
+    @Test
+    void createItemIgnoresClientId() {
+        ItemDto existing = service.createItem(userDto.getId(), itemDto);
+
+        ItemDto created = service.createItem(userDto.getId(),
+                new ItemDto(existing.getId(), "other", "other descr", true, null, null, null));
+        em.flush();
+
+        assertThat(created.getId(), not(equalTo(existing.getId())));
+        assertThat(em.find(Item.class, existing.getId()).getName(), equalTo(itemDto.getName()));
+    }
+
     @Test
     void getItem() {
         Long id = service.createItem(userDto.getId(), itemDto).getId();
@@ -77,6 +114,55 @@ class ItemServiceTest {
         assertThat(itemS.getAvailable(), equalTo(itemDto.getAvailable()));
     }
 
+    @Test
+    void importItems() {
+        User user = em.find(User.class, userDto.getId());
+        ItemRequest request = new ItemRequest(null, "request", user, LocalDateTime.now());
+        em.persist(request);
+        List<ItemDto> itemDtos = List.of(itemDto,
+                new ItemDto(null, "second", "second descr", true, request.getId(), null, null));
+
+        List<ItemDto> imported = service.importItems(userDto.getId(), itemDtos);
+        assertThat(imported.size(), equalTo(2));
+        assertThat(imported.getFirst().getId(), notNullValue());
+        assertThat(imported.getFirst().getOwnerId(), equalTo(userDto.getId()));
+        assertThat(imported.getLast().getRequestId(), equalTo(request.getId()));
+        assertThat(imported.getLast().getId(), equalTo(imported.getFirst().getId() + 1));
+
+        em.clear();
+        Item item = em.find(Item.class, imported.getLast().getId());
+        assertThat(item.getName(), equalTo("second"));
+        assertThat(item.getRequest().getId(), equalTo(request.getId()));
+        assertThat(service.findItems("second").size(), equalTo(1));
+    }
+
+    @Test
+    void importItemsIgnoresClientIds() {
+        ItemDto existing = service.createItem(userDto.getId(), itemDto);
+
+        List<ItemDto> imported = service.importItems(userDto.getId(),
+                List.of(new ItemDto(existing.getId(), "other", "other descr", true, null, null, null),
+                        new ItemDto(12345L, "third", "third descr", true, null, null, null)));
+
+        assertThat(imported.getFirst().getId(), not(equalTo(existing.getId())));
+        assertThat(imported.getLast().getId(), not(equalTo(12345L)));
+        assertThat(em.find(Item.class, existing.getId()).getName(), equalTo(itemDto.getName()));
+    }
+
+    @Test
+    void importItemsUnknownRequest() {
+        List<ItemDto> itemDtos = List.of(new ItemDto(null, "item", "item descr", true, 99L, null, null));
+
+        assertThrows(NotFoundException.class, () -> service.importItems(userDto.getId(), itemDtos));
+    }
+
+    @Test
+    void importItemsTooMany() {
+        List<ItemDto> itemDtos = Collections.nCopies(ItemService.MAX_IMPORT_SIZE + 1, itemDto);
+
+        assertThrows(BadRequestException.class, () -> service.importItems(userDto.getId(), itemDtos));
+    }
+
     @Test
     void updateItem() {
         Long id = service.createItem(userDto.getId(), itemDto).getId();
@@ -91,6 +177,39 @@ class ItemServiceTest {
         assertThat(itemS.getAvailable(), equalTo(itemDto.getAvailable()));
     }
 
+    @Test
+    void updateItemStaleVersion() {
+        ItemDto created = service.createItem(userDto.getId(), itemDto);
+        service.updateItem(userDto.getId(), created.getId(), ItemDto.builder().name("New Name").version(created.getVersion()).build());
+        em.flush();
+
+        assertThrows(ConflictException.class, () -> service.updateItem(userDto.getId(), created.getId(),
+                ItemDto.builder().description("New Description").version(created.getVersion()).build()));
+        assertThat(service.getItem(created.getId(), userDto.getId()).getDescription(), equalTo(itemDto.getDescription()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateItemConflictOnConcurrentModification() {
+        Long id = service.createItem(userDto.getId(), itemDto).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () -> transaction.executeWithoutResult(status -> {
+                service.updateItem(userDto.getId(), id, ItemDto.builder().name("New Name").build());
+                concurrent.executeWithoutResult(concurrentStatus ->
+                        service.updateItem(userDto.getId(), id, ItemDto.builder().description("concurrent").build()));
+            }));
+            ItemAllDto item = service.getItem(id, userDto.getId());
+            assertThat(item.getName(), equalTo(itemDto.getName()));
+            assertThat(item.getDescription(), equalTo("concurrent"));
+        } finally {
+            itemRepository.deleteById(id);
+            userService.deleteUserById(userDto.getId());
+        }
+    }
+
     @Test
     void getItems() {
         Long id = service.createItem(userDto.getId(), itemDto).getId();
@@ -100,6 +219,23 @@ class ItemServiceTest {
         assertThat(itemS.getFirst().getId(), equalTo(id));
     }
 
+    @Test
+    void getItemsWithComments() {
+        when(bookingService.getBookingsByUserAndItem(anyLong(), anyLong())).thenReturn(List.of(new BookingDto()));
+
+        Long id = service.createItem(userDto.getId(), itemDto).getId();
+        Long otherId = service.createItem(userDto.getId(), new ItemDto(null, "other", "other descr", true, null, userDto.getId(), null)).getId();
+        service.addComment(userDto.getId(), id, new CommentSaveDto("comment text"));
+
+        List<ItemAllDto> itemS = service.getItems(userDto.getId());
+        assertThat(itemS.size(), equalTo(2));
+        ItemAllDto commented = itemS.stream().filter(item -> item.getId().equals(id)).findFirst().orElseThrow();
+        ItemAllDto other = itemS.stream().filter(item -> item.getId().equals(otherId)).findFirst().orElseThrow();
+        assertThat(commented.getComments().size(), equalTo(1));
+        assertThat(commented.getComments().getFirst().getText(), equalTo("comment text"));
+        assertThat(other.getComments().size(), equalTo(0));
+    }
+
     @Test
     void findItems() {
         Long id = service.createItem(userDto.getId(), itemDto).getId();
@@ -109,6 +245,34 @@ class ItemServiceTest {
         assertThat(itemS.getFirst().getId(), equalTo(id));
     }
 
+    @Test
+    void findItemsPagedByOffset() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(service.createItem(userDto.getId(), new ItemDto(null, "drill " + i, "drill", true, null, null, null)).getId());
+        }
+
+        List<ItemDto> page = service.findItems("drill", 1, 2);
+        assertThat(page.size(), equalTo(2));
+        assertThat(page.get(0).getId(), equalTo(ids.get(1)));
+        assertThat(page.get(1).getId(), equalTo(ids.get(2)));
+    }
+
+    @Test
+    void findItemsAfterUpdate() {
+        Long id = service.createItem(userDto.getId(), itemDto).getId();
+        service.updateItem(userDto.getId(), id, ItemDto.builder().name("hammer").build());
+        assertThat(service.findItems("hammer").size(), equalTo(1));
+
+        service.updateItem(userDto.getId(), id, ItemDto.builder().available(false).build());
+        assertThat(service.findItems("hammer").size(), equalTo(0));
+    }
+
+    @Test
+    void findItemsInvalidPaging() {
+        assertThrows(BadRequestException.class, () -> service.findItems("item", -1, 10));
+    }
+
     @Test
     void findItemsEmpty() {
         Long id = service.createItem(userDto.getId(), itemDto).getId();
@@ -139,4 +303,33 @@ class ItemServiceTest {
         CommentSaveDto commentSaveDto = new CommentSaveDto("comment text");
         assertThrows(BadRequestException.class, () -> service.addComment(itemDto.getOwnerId(), id, commentSaveDto));
     }
+
+    @Test
+    void getItemsByRequestsChunked() {
+        User user = em.find(User.class, userDto.getId());
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= ItemService.MAX_IN_LIST_SIZE; i++) {
+            ItemRequest request = new ItemRequest(null, "request " + i, user, LocalDateTime.now());
+            em.persist(request);
+            requests.add(request);
+        }
+        em.persist(new Item(null, "first", "descr", true, user, requests.getFirst(), null));
+        em.persist(new Item(null, "last", "descr", true, user, requests.getLast(), null));
+        em.flush();
+        clearInvocations(itemRepository);
+
+        List<ItemDto> items = service.getItemsByRequests(requests);
+        assertThat(items.size(), equalTo(2));
+        assertThat(items.getFirst().getRequestId(), equalTo(requests.getFirst().getId()));
+        assertThat(items.getLast().getRequestId(), equalTo(requests.getLast().getId()));
+        verify(itemRepository, times(2)).findAllByRequestIdIn(anyCollection());
+    }
+
+    @Test
+    void getItemsByRequestsEmpty() {
+        clearInvocations(itemRepository);
+
+        assertThat(service.getItemsByRequests(List.of()), equalTo(List.of()));
+        verify(itemRepository, times(0)).findAllByRequestIdIn(anyCollection());
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.nio.charset.StandardCharsets;
@@ -18,10 +19,14 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,7 +47,7 @@ class ItemRequestControllerTest {
     @BeforeEach
     void setUp() {
         ItemDto itemDto = new ItemDto(1L, "name", "description",
-                true, null, 1L);
+                true, null, 1L, null);
         itemRequestDto = new ItemRequestDto(1L, "description",1L, LocalDateTime.now(), List.of(itemDto));
     }
 
@@ -89,6 +94,27 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id", is(itemRequestDto.getId()), Long.class));
     }
 
+    @Test
+    void getAllRequestsFromSize() throws Exception {
+        when(itemRequestService.getAllRequests(anyLong(), eq(10), anyInt())).thenReturn(List.of(itemRequestDto));
+        mvc.perform(get("/requests/all").param("from", "10").param("size", "5").header(header, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(itemRequestDto.getId()), Long.class));
+    }
+
+    @Test
+    void getAllRequestsPage() throws Exception {
+        when(itemRequestService.getAllRequests(anyLong(), nullable(String.class), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(itemRequestDto), "next"));
+        mvc.perform(get("/requests/all").param("size", "1").header(header, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(itemRequestDto.getId()), Long.class));
+    }
+
     @Test
     void getRequestNotFoundException() throws Exception {
         when(itemRequestService.getRequest(anyLong()))
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -47,4 +50,26 @@ class ItemRequestRepositoryTest {
         assertThat(itemRequests.size(), equalTo(1));
         assertThat(itemRequests.getFirst(), equalTo(request));
     }
+
+    @Test
+    void findByIdNotRequestorWindow() {
+        User user = new User(null, "mail@du.tu", "name");
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0);
+        ItemRequest older = new ItemRequest(null, "older", user, created);
+        ItemRequest newer = new ItemRequest(null, "newer", user, created.plusHours(1));
+        em.persist(user);
+        em.persist(older);
+        em.persist(newer);
+        em.flush();
+
+        Window<ItemRequest> window = itemRequestRepository.findAllByRequestorIdIsNotOrderByCreatedDescIdDesc(99L,
+                ScrollPosition.keyset(), Limit.of(1));
+        assertThat(window.getContent(), equalTo(List.of(newer)));
+        assertThat(window.hasNext(), equalTo(true));
+
+        Window<ItemRequest> next = itemRequestRepository.findAllByRequestorIdIsNotOrderByCreatedDescIdDesc(99L,
+                window.positionAt(0), Limit.of(1));
+        assertThat(next.getContent(), equalTo(List.of(older)));
+        assertThat(next.hasNext(), equalTo(false));
+    }
 }
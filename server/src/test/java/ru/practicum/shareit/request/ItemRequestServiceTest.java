@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserService;
@@ -17,6 +21,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -30,6 +35,9 @@ class ItemRequestServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ItemService itemService;
+
     private ItemRequestDto requestDto;
     private UserDto userDto;
 
@@ -82,4 +90,68 @@ class ItemRequestServiceTest {
         assertThat(requestDtoS.getFirst().getDescription(), equalTo(requestDto.getDescription()));
         assertThat(requestDtoS.getFirst().getRequestorId(), equalTo(userDto.getId()));
     }
+
+    @Test
+    void getAllRequestsFromSize() {
+        Long first = service.createRequest(requestDto, userDto.getId()).getId();
+        Long second = service.createRequest(requestDto, userDto.getId()).getId();
+
+        List<ItemRequestDto> page = service.getAllRequests(99L, 0, 1);
+        assertThat(page.size(), equalTo(1));
+        assertThat(page.getFirst().getId(), equalTo(second));
+
+        List<ItemRequestDto> next = service.getAllRequests(99L, 1, 1);
+        assertThat(next.size(), equalTo(1));
+        assertThat(next.getFirst().getId(), equalTo(first));
+    }
+
+    @Test
+    void getAllRequestsFromNotMultipleOfSize() {
+        Long first = service.createRequest(requestDto, userDto.getId()).getId();
+        Long second = service.createRequest(requestDto, userDto.getId()).getId();
+        service.createRequest(requestDto, userDto.getId());
+
+        List<ItemRequestDto> page = service.getAllRequests(99L, 1, 2);
+        assertThat(page.size(), equalTo(2));
+        assertThat(page.get(0).getId(), equalTo(second));
+        assertThat(page.get(1).getId(), equalTo(first));
+    }
+
+    @Test
+    void getAllRequestsFromSizeInvalid() {
+        assertThrows(BadRequestException.class, () -> service.getAllRequests(99L, -1, 10));
+        assertThrows(BadRequestException.class, () -> service.getAllRequests(99L, 0, 0));
+    }
+
+    @Test
+    void getAllRequestsPaged() {
+        Long first = service.createRequest(requestDto, userDto.getId()).getId();
+        Long second = service.createRequest(requestDto, userDto.getId()).getId();
+        em.flush();
+        em.clear();
+
+        CursorPage<ItemRequestDto> page = service.getAllRequests(99L, null, 1);
+        assertThat(page.getItems().size(), equalTo(1));
+        assertThat(page.getItems().getFirst().getId(), equalTo(second));
+        assertThat(page.getNextCursor() != null, equalTo(true));
+
+        CursorPage<ItemRequestDto> next = service.getAllRequests(99L, page.getNextCursor(), 1);
+        assertThat(next.getItems().size(), equalTo(1));
+        assertThat(next.getItems().getFirst().getId(), equalTo(first));
+        assertThat(next.getNextCursor(), equalTo(null));
+    }
+
+    @Test
+    void getAllRequestsWithItems() {
+        Long id = service.createRequest(requestDto, userDto.getId()).getId();
+        Long empty = service.createRequest(requestDto, userDto.getId()).getId();
+        ItemDto itemDto = itemService.createItem(userDto.getId(), new ItemDto(null, "item", "item descr", true, id, userDto.getId(), null));
+
+        CursorPage<ItemRequestDto> page = service.getAllRequests(99L, null, 10);
+        assertThat(page.getItems().size(), equalTo(2));
+        assertThat(page.getItems().getFirst().getId(), equalTo(empty));
+        assertThat(page.getItems().getFirst().getItems(), equalTo(List.of()));
+        assertThat(page.getItems().getLast().getItems().size(), equalTo(1));
+        assertThat(page.getItems().getLast().getItems().getFirst().getId(), equalTo(itemDto.getId()));
+    }
 }
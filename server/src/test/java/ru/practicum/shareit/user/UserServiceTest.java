@@ -6,7 +6,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -14,6 +19,7 @@ import ru.practicum.shareit.user.model.User;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -25,6 +31,13 @@ class UserServiceTest {
 
     @Autowired
     private EntityManager em;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private UserDto userDto;
 
     @BeforeEach
@@ -55,6 +68,18 @@ class UserServiceTest {
         assertThat(userById.getEmail(), equalTo(userDto.getEmail()));
     }
 
+    @Test
+    void updateUserBumpsVersion() {
+        Long id = service.createUser(userDto).getId();
+        em.flush();
+        long version = em.find(User.class, id).getVersion();
+
+        service.updateUser(id, new UserDto(null, null, "renamed"));
+        em.flush();
+
+        assertThat(em.find(User.class, id).getVersion(), equalTo(version + 1));
+    }
+
     @Test
     void updateUser() {
         Long id = service.createUser(userDto).getId();
@@ -73,4 +98,46 @@ class UserServiceTest {
         service.deleteUserById(id);
         assertThrows(NotFoundException.class, () -> service.getUserById(id));
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getUserCached() {
+        Long id = service.createUser(new UserDto(null, "cached@mail.it", "John")).getId();
+        UserDto userById = service.getUserById(id);
+        Cache cache = cacheManager.getCache(UserService.USERS_CACHE);
+
+        assertThat(cache.get(id, UserDto.class), equalTo(userById));
+
+        service.updateUser(id, new UserDto(null, null, "update"));
+        assertThat(cache.get(id), nullValue());
+        assertThat(service.getUserById(id).getName(), equalTo("update"));
+
+        service.deleteUserById(id);
+        assertThat(cache.get(id), nullValue());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateUserEvictsAfterCommit() {
+        Long id = service.createUser(new UserDto(null, "commit@mail.it", "John")).getId();
+        service.getUserById(id);
+        Cache cache = cacheManager.getCache(UserService.USERS_CACHE);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            service.updateUser(id, new UserDto(null, null, "update"));
+            assertThat(cache.get(id, UserDto.class).getName(), equalTo("John"));
+        });
+        assertThat(cache.get(id), nullValue());
+
+        service.getUserById(id);
+        transaction.executeWithoutResult(status -> {
+            service.updateUser(id, new UserDto(null, null, "rolled back"));
+            status.setRollbackOnly();
+        });
+        assertThat(cache.get(id, UserDto.class).getName(), equalTo("update"));
+
+        service.deleteUserById(id);
+        assertThat(cache.get(id), nullValue());
+    }
 }